@@ -0,0 +1,82 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.HeapItemStore;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 저장된 상품 수(size)와 저장 방식(storage)에 따른 ItemRepository 비용
+ * 반복(iteration)마다 size개를 저장한 저장소를 새로 만든다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ItemRepositoryBenchmark {
+
+    private static final int SAVES = 100;
+
+    @Param({"100", "10000", "100000"})
+    int size;
+
+    @Param({"heap", "columnar"})
+    String storage;
+
+    ItemRepository itemRepository;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        itemRepository = new ItemRepository("columnar".equals(storage) ? new ColumnarItemStore() : new HeapItemStore());
+        for (int i = 0; i < size; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i, 10));
+        }
+    }
+
+    /**
+     * 저장할 때마다 저장소가 커지므로 시간 기준으로 반복하지 않고, 반복마다 새 저장소에 SAVES개를 저장하는 시간을 잰다.
+     * (결과는 SAVES번 저장한 시간이다. 모든 반복이 size ~ size + SAVES 크기에서 측정된다)
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = SAVES)
+    @Measurement(iterations = 20, batchSize = SAVES)
+    public Item save() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemRepository.findById(ThreadLocalRandom.current().nextLong(1, size + 1));
+    }
+
+    /**
+     * 쓰기가 없으면 만들어 둔 목록을 공유한다.
+     */
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    /**
+     * 쓰기 직후에는 목록을 다시 만든다.
+     */
+    @Benchmark
+    public List<Item> updateThenFindAll() {
+        itemRepository.update(1L, new Item("itemA", 10000, 10));
+        return itemRepository.findAll();
+    }
+}
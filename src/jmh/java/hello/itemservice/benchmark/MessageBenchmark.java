@@ -0,0 +1,83 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Locale;
+
+/**
+ * 오류 메시지 코드 생성과 errors 메시지 조회 비용
+ * (스프링 부트 기본 ResourceBundleMessageSource와 PrecompiledMessageSource 비교)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MessageBenchmark {
+
+    DefaultMessageCodesResolver defaultResolver;
+    CachingMessageCodesResolver cachingResolver;
+
+    MessageSource resourceBundleMessageSource;
+    MessageSource precompiledMessageSource;
+
+    DefaultMessageSourceResolvable rangeError;
+    Object[] rangeArguments = {1000, 1000000};
+
+    @Setup
+    public void setup() {
+        defaultResolver = new DefaultMessageCodesResolver();
+        cachingResolver = new CachingMessageCodesResolver();
+
+        ResourceBundleMessageSource resourceBundle = new ResourceBundleMessageSource();
+        resourceBundle.setBasenames("messages", "errors");
+        resourceBundle.setDefaultEncoding("UTF-8");
+        resourceBundleMessageSource = resourceBundle;
+        precompiledMessageSource = new PrecompiledMessageSource("messages", "errors");
+
+        rangeError = new DefaultMessageSourceResolvable(
+                defaultResolver.resolveMessageCodes("range", "item", "price", Integer.class), rangeArguments);
+    }
+
+    @Benchmark
+    public String[] defaultMessageCodesResolver() {
+        return defaultResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String[] cachingMessageCodesResolver() {
+        return cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String resourceBundleGetMessage() {
+        return resourceBundleMessageSource.getMessage("range.item.price", rangeArguments, Locale.KOREAN);
+    }
+
+    @Benchmark
+    public String precompiledGetMessage() {
+        return precompiledMessageSource.getMessage("range.item.price", rangeArguments, Locale.KOREAN);
+    }
+
+    @Benchmark
+    public String resourceBundleResolvable() {
+        return resourceBundleMessageSource.getMessage(rangeError, Locale.KOREAN);
+    }
+
+    @Benchmark
+    public String precompiledResolvable() {
+        return precompiledMessageSource.getMessage(rangeError, Locale.KOREAN);
+    }
+}
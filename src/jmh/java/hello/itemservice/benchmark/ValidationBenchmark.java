@@ -0,0 +1,84 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+/**
+ * ItemSaveForm / Item 검증 비용 (valid: 오류 없음, invalid: 모든 필드 오류)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    Validator validator;
+    SpringValidatorAdapter springValidator;
+    CompiledValidator compiledValidator;
+    ItemValidator itemValidator;
+
+    ItemSaveForm form;
+    Item item;
+
+    @Setup
+    public void setup() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        springValidator = new SpringValidatorAdapter(validator);
+        compiledValidator = new CompiledValidator(springValidator, ItemSaveForm.class);
+        itemValidator = new ItemValidator();
+
+        boolean valid = "valid".equals(input);
+        form = new ItemSaveForm();
+        form.setItemName(valid ? "itemA" : " ");
+        form.setPrice(valid ? 10000 : 10);
+        form.setQuantity(valid ? 10 : 10000);
+        item = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemSaveForm>> hibernateValidator() {
+        return validator.validate(form);
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult springValidatorAdapter() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        springValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult compiledValidator() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult itemValidator() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+}
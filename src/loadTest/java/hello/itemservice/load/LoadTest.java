@@ -0,0 +1,237 @@
+package hello.itemservice.load;
+
+import hello.itemservice.ItemServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 상품 화면(v1~v4)과 JSON API에 섞인 요청을 보내고 엔드포인트별 처리량과 지연 시간 분위수를 출력한다.
+ *
+ * ./gradlew loadTest -Pload.concurrency=32 -Pload.duration=60 -PappArgs="--item.repository.storage=columnar"
+ *
+ * load.target 을 지정하지 않으면 애플리케이션을 같은 JVM에서 임의 포트로 띄워서 측정한다.
+ * load.concurrency: 동시 요청 수 (16), load.duration: 측정 시간 초 (30), load.warmup: 예열 시간 초 (5)
+ * load.versions: 요청할 컨트롤러 버전 (v1,v2,v3,v4)
+ */
+public class LoadTest {
+
+    private static final String[] DEFAULT_APP_ARGS = {"--server.port=0", "--logging.level.hello.itemservice=warn"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final List<String> versions;
+
+    private LoadTest(String baseUrl, List<String> versions) {
+        this.baseUrl = baseUrl;
+        this.versions = versions;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        int duration = Integer.getInteger("load.duration", 30);
+        int warmup = Integer.getInteger("load.warmup", 5);
+        List<String> versions = Arrays.asList(System.getProperty("load.versions", "v1,v2,v3,v4").split(","));
+        String target = System.getProperty("load.target", "");
+
+        ConfigurableApplicationContext context = null;
+        if (target.isEmpty()) {
+            String[] appArgs = Arrays.copyOf(DEFAULT_APP_ARGS, DEFAULT_APP_ARGS.length + args.length);
+            System.arraycopy(args, 0, appArgs, DEFAULT_APP_ARGS.length, args.length);
+            context = SpringApplication.run(ItemServiceApplication.class, appArgs);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            LoadTest loadTest = new LoadTest(target, versions);
+            System.out.printf("target=%s, concurrency=%d, warmup=%ds, duration=%ds, versions=%s%n",
+                    target, concurrency, warmup, duration, versions);
+            loadTest.run(concurrency, warmup);
+            Map<String, Recorder> result = loadTest.run(concurrency, duration);
+            report(result, duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, Recorder> run(int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, Recorder>>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() -> drive(deadline)));
+        }
+
+        Map<String, Recorder> merged = new TreeMap<>();
+        for (Future<Map<String, Recorder>> future : futures) {
+            for (Map.Entry<String, Recorder> entry : future.get().entrySet()) {
+                merged.computeIfAbsent(entry.getKey(), key -> new Recorder()).addAll(entry.getValue());
+            }
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    /**
+     * 한 스레드가 deadline까지 요청을 보낸다. 기록은 스레드마다 따로 하고 끝나면 합친다.
+     */
+    private Map<String, Recorder> drive(long deadline) {
+        Map<String, Recorder> recorders = new TreeMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String version = versions.get(random.nextInt(versions.size()));
+            int pick = random.nextInt(100);
+
+            String name;
+            HttpRequest request;
+            if (pick < 30) {
+                name = version + " list";
+                request = get("/validation/" + version + "/items");
+            } else if (pick < 60) {
+                name = version + " detail";
+                request = get("/validation/" + version + "/items/" + (1 + random.nextInt(2)));
+            } else if (pick < 70) {
+                name = version + " add valid";
+                request = form("/validation/" + version + "/items/add", "itemName=load", "price=10000", "quantity=10");
+            } else if (pick < 80) {
+                name = version + " add invalid";
+                request = form("/validation/" + version + "/items/add", "itemName=", "price=10", "quantity=99999");
+            } else if (pick < 90) {
+                name = version + " edit";
+                long id = 1 + random.nextInt(2);
+                request = form("/validation/" + version + "/items/" + id + "/edit",
+                        "id=" + id, "itemName=item" + id, "price=10000", "quantity=10");
+            } else if (pick < 95) {
+                name = "api add valid";
+                request = json("/validation/api/items/add", "{\"itemName\":\"load\",\"price\":10000,\"quantity\":10}");
+            } else {
+                name = "api add invalid";
+                request = json("/validation/api/items/add", "{\"itemName\":\"\",\"price\":10,\"quantity\":99999}");
+            }
+
+            Recorder recorder = recorders.computeIfAbsent(name, key -> new Recorder());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+            } catch (IOException e) {
+                recorder.record(System.nanoTime() - start, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return recorders;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest form(String path, String... params) {
+        StringBuilder body = new StringBuilder();
+        for (String param : params) {
+            int index = param.indexOf('=');
+            body.append(body.length() == 0 ? "" : "&")
+                    .append(param, 0, index + 1)
+                    .append(URLEncoder.encode(param.substring(index + 1), StandardCharsets.UTF_8));
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest json(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void report(Map<String, Recorder> result, int seconds) {
+        System.out.printf("%n%-20s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+        Recorder total = new Recorder();
+        for (Map.Entry<String, Recorder> entry : result.entrySet()) {
+            print(entry.getKey(), entry.getValue(), seconds);
+            total.addAll(entry.getValue());
+        }
+        print("total", total, seconds);
+    }
+
+    private static void print(String name, Recorder recorder, int seconds) {
+        long[] latencies = recorder.sorted();
+        System.out.printf("%-20s %9d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.length, (double) latencies.length / seconds, recorder.errors,
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 99.9), percentile(latencies, 100));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * 응답 시간(나노초)을 모두 보관한다. 한 스레드에서만 기록한다.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void record(long latency, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        private void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        private long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
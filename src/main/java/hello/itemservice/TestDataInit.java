@@ -15,9 +15,13 @@ public class TestDataInit {
 
     /**
      * 테스트용 데이터 추가
+     * 영속화된 상품을 복구했다면 추가하지 않는다. (상품 목록을 만들지 않도록 isEmpty()로 확인한다)
      */
     @PostConstruct
     public void init() {
+        if (!itemRepository.isEmpty()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
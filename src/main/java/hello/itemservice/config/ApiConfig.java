@@ -0,0 +1,25 @@
+package hello.itemservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.api.ApiErrorResponseConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * API 오류 응답(ApiErrorResponse)은 Jackson 직렬화 대신 전용 컨버터로 기록한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ApiConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ApiErrorResponseConverter(objectMapper.getFactory()));
+    }
+}
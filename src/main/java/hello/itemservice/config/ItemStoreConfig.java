@@ -0,0 +1,25 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.HeapItemStore;
+import hello.itemservice.domain.item.ItemStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 상품 저장 방식 선택
+ * heap: Item 객체를 그대로 보관한다. (기본값)
+ * columnar: 열 단위 기본형 배열에 보관한다. 상품이 많을 때 힙 사용량이 적다.
+ */
+@Configuration
+public class ItemStoreConfig {
+
+    @Bean
+    public ItemStore itemStore(@Value("${item.repository.storage:heap}") String storage) {
+        if ("columnar".equals(storage)) {
+            return new ColumnarItemStore();
+        }
+        return new HeapItemStore();
+    }
+}
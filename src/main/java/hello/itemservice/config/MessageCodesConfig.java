@@ -0,0 +1,24 @@
+package hello.itemservice.config;
+
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 바인딩/검증 오류의 메시지 코드를 캐시해서 만든다. (@ModelAttribute, @RequestBody, 대량 등록 모두)
+ */
+@Configuration
+public class MessageCodesConfig implements WebMvcConfigurer {
+
+    @Bean
+    public CachingMessageCodesResolver messageCodesResolver() {
+        return new CachingMessageCodesResolver();
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver();
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.config;
+
+import hello.itemservice.message.MessageReloadEndpoint;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.message.PrerenderingMessageSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.messages.basename 의 메시지 파일을 로케일마다 미리 읽어 두는 MessageSource
+ * (스프링 부트의 ResourceBundleMessageSource 대신 사용한다)
+ * 상품 오류 메시지는 ItemErrorMessagePrerenderer가 로케일마다 미리 찾아 둔다.
+ * 메시지 파일을 바꾸면 POST /actuator/messages 로 다시 읽는다. (기본으로는 노출하지 않는다, application.properties 참고)
+ */
+@Configuration
+public class MessageConfig {
+
+    @Bean
+    public PrerenderingMessageSource messageSource(
+            @Value("${spring.messages.basename:messages}") String[] basenames,
+            @Value("${spring.messages.fallback-to-system-locale:true}") boolean fallbackToSystemLocale,
+            @Value("${spring.messages.use-code-as-default-message:false}") boolean useCodeAsDefaultMessage) {
+        PrecompiledMessageSource messageSource = new PrecompiledMessageSource(basenames);
+        messageSource.setFallbackToSystemLocale(fallbackToSystemLocale);
+        messageSource.setUseCodeAsDefaultMessage(useCodeAsDefaultMessage);
+        return new PrerenderingMessageSource(messageSource);
+    }
+
+    @Bean
+    public MessageReloadEndpoint messageReloadEndpoint(PrerenderingMessageSource messageSource) {
+        return new MessageReloadEndpoint(messageSource);
+    }
+}
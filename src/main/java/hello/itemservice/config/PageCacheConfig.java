@@ -0,0 +1,27 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.cache.ItemPageCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 상품 목록/상세 화면 캐시 (item.page-cache.enabled=false 이면 사용하지 않는다)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "item.page-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ItemPageCacheFilter> itemPageCacheFilter(
+            ItemRepository itemRepository,
+            @Value("${item.page-cache.max-entries:1000}") int maxEntries) {
+        FilterRegistrationBean<ItemPageCacheFilter> registration =
+                new FilterRegistrationBean<>(new ItemPageCacheFilter(itemRepository, maxEntries));
+        registration.addUrlPatterns("/validation/*");
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Paths;
+
+/**
+ * item.persistence.enabled=true 일 때만 상품 로그를 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "item.persistence", name = "enabled", havingValue = "true")
+public class PersistenceConfig {
+
+    @Bean
+    public ItemLog itemLog(@Value("${item.persistence.directory:data}") String directory,
+                           @Value("${item.persistence.compact-threshold:64MB}") DataSize compactThreshold) {
+        return new ItemLog(Paths.get(directory), compactThreshold.toBytes());
+    }
+}
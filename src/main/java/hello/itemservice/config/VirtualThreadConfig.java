@@ -0,0 +1,47 @@
+package hello.itemservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * item.virtual-threads.enabled=true 이면 요청마다 가상 스레드에서 처리한다. (JDK 21 이상)
+ * 요청 스레드에서 실행되는 상품 로그 기록(awaitDurable)과 대량 등록도 가상 스레드에서 실행되므로,
+ * 디스크를 기다리는 동안 플랫폼 스레드를 차지하지 않는다. (ItemLog는 synchronized 대신 ReentrantLock을 사용한다)
+ * 빌드는 JDK 11 기준이므로 가상 스레드 API는 리플렉션으로 찾고, 없으면 기존 Tomcat 스레드 풀을 그대로 사용한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("요청을 가상 스레드에서 처리합니다.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.warn("가상 스레드를 지원하지 않는 JDK입니다. Tomcat 스레드 풀을 사용합니다. java.version={}",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = requestExecutor();
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+}
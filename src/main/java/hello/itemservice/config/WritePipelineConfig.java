@@ -0,0 +1,25 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemWritePipeline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * item.write-pipeline.enabled=true 일 때만 상품 저장/수정을 쓰기 파이프라인으로 묶어서 적용한다.
+ * 영속화(item.persistence.enabled=true)와 함께 쓰면 로그 기록(force)이 묶음마다 한 번으로 줄어든다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "item.write-pipeline", name = "enabled", havingValue = "true")
+public class WritePipelineConfig {
+
+    @Bean
+    public ItemWritePipeline itemWritePipeline(@Value("${item.write-pipeline.max-batch:256}") int maxBatch,
+                                               @Value("${item.write-pipeline.max-latency:1ms}") Duration maxLatency,
+                                               @Value("${item.write-pipeline.queue-capacity:4096}") int queueCapacity) {
+        return new ItemWritePipeline(maxBatch, maxLatency, queueCapacity);
+    }
+}
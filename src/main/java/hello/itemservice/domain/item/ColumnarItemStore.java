@@ -0,0 +1,378 @@
+package hello.itemservice.domain.item;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품을 열(column) 단위 기본형 배열에 보관한다. (item.repository.storage=columnar)
+ * id → 행 번호는 기본형 해시 테이블로 찾고, 가격/수량은 int 배열에, 버전/수정 시각은 long 배열에,
+ * 상품명은 사전에 등록한 번호로 보관한다. 번호마다 참조 수를 세고, 더 이상 쓰는 상품이 없는 번호는 사전에서 지우고 다시 사용한다.
+ * 사전도 기본형 해시 테이블이라 상품명이 모두 다를 때도 상품명마다 String 외에 16~24 바이트 정도만 더 쓴다.
+ * 상품마다 Item, Long, Integer 객체를 들고 있지 않으므로 상품이 많을수록 힙 사용량과 GC 부담이 줄어든다.
+ * 조회할 때마다 새 Item을 만들어 반환하므로, 반환된 Item을 바꿔도 저장된 값은 바뀌지 않는다.
+ */
+public class ColumnarItemStore implements ItemStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_NAME = -1;
+    private static final byte PRICE_PRESENT = 1;
+    private static final byte QUANTITY_PRESENT = 2;
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    private final LongIntMap rows = new LongIntMap(INITIAL_CAPACITY);
+    private final NameDictionary names = new NameDictionary(INITIAL_CAPACITY);
+
+    private long[] idColumn = new long[INITIAL_CAPACITY];
+    private int[] nameColumn = new int[INITIAL_CAPACITY];
+    private int[] priceColumn = new int[INITIAL_CAPACITY];
+    private int[] quantityColumn = new int[INITIAL_CAPACITY];
+    private byte[] presentColumn = new byte[INITIAL_CAPACITY];
+    private long[] versionColumn = new long[INITIAL_CAPACITY];
+    private long[] lastModifiedColumn = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public ColumnarItemStore() {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public Item get(long id) {
+        readLock.lock();
+        try {
+            int row = rows.get(id);
+            return row < 0 ? null : view(row);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Item item) {
+        writeLock.lock();
+        try {
+            int row = rows.get(item.getId());
+            if (row < 0) {
+                row = appendRow(item.getId());
+            }
+            write(row, item);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 열 배열은 여러 칸을 함께 바꿔야 하므로 쓰기 잠금 안에서 버전을 비교하고 바꾼다.
+     */
+    @Override
+    public boolean replace(long id, long expectedVersion, Item replacement) {
+        writeLock.lock();
+        try {
+            int row = rows.get(id);
+            if (row < 0 || versionColumn[row] != expectedVersion) {
+                return false;
+            }
+            write(row, replacement);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        readLock.lock();
+        try {
+            return size;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            rows.clear();
+            names.clear();
+            size = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private int appendRow(long id) {
+        if (size == idColumn.length) {
+            int capacity = idColumn.length * 2;
+            idColumn = Arrays.copyOf(idColumn, capacity);
+            nameColumn = Arrays.copyOf(nameColumn, capacity);
+            priceColumn = Arrays.copyOf(priceColumn, capacity);
+            quantityColumn = Arrays.copyOf(quantityColumn, capacity);
+            presentColumn = Arrays.copyOf(presentColumn, capacity);
+            versionColumn = Arrays.copyOf(versionColumn, capacity);
+            lastModifiedColumn = Arrays.copyOf(lastModifiedColumn, capacity);
+        }
+
+        int row = size++;
+        idColumn[row] = id;
+        nameColumn[row] = NO_NAME;
+        rows.put(id, row);
+        return row;
+    }
+
+    private void write(int row, Item item) {
+        Integer price = item.getPrice();
+        Integer quantity = item.getQuantity();
+
+        // 같은 이름으로 바꿀 때 참조 수가 0이 되지 않도록 새 이름을 먼저 잡고 이전 이름을 놓는다.
+        int nameCode = item.getItemName() == null ? NO_NAME : names.acquire(item.getItemName());
+        if (nameColumn[row] != NO_NAME) {
+            names.release(nameColumn[row]);
+        }
+        nameColumn[row] = nameCode;
+        priceColumn[row] = price != null ? price : 0;
+        quantityColumn[row] = quantity != null ? quantity : 0;
+        presentColumn[row] = (byte) ((price != null ? PRICE_PRESENT : 0) | (quantity != null ? QUANTITY_PRESENT : 0));
+        versionColumn[row] = item.getVersion() != null ? item.getVersion() : 0L;
+        lastModifiedColumn[row] = item.getLastModified() != null ? item.getLastModified() : 0L;
+    }
+
+    private Item view(int row) {
+        int nameCode = nameColumn[row];
+        byte present = presentColumn[row];
+
+        Item item = new Item();
+        item.setId(idColumn[row]);
+        item.setItemName(nameCode == NO_NAME ? null : names.get(nameCode));
+        item.setPrice((present & PRICE_PRESENT) != 0 ? Integer.valueOf(priceColumn[row]) : null);
+        item.setQuantity((present & QUANTITY_PRESENT) != 0 ? Integer.valueOf(quantityColumn[row]) : null);
+        item.setVersion(versionColumn[row]);
+        item.setLastModified(lastModifiedColumn[row]);
+        return item;
+    }
+
+    /**
+     * 사전에 있는 상품명 수 (테스트용)
+     */
+    int nameCount() {
+        readLock.lock();
+        try {
+            return names.size;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * long → int 오픈 어드레싱 해시 테이블, 키 0은 빈 칸을 뜻한다. (상품 id는 1부터 시작한다)
+     */
+    private static final class LongIntMap {
+
+        private static final long EMPTY = 0L;
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        private LongIntMap(int capacity) {
+            allocate(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+        }
+
+        private int get(long key) {
+            int index = indexOf(key);
+            while (true) {
+                long current = keys[index];
+                if (current == EMPTY) {
+                    return -1;
+                }
+                if (current == key) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private void put(long key, int value) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("상품 id는 0일 수 없습니다.");
+            }
+            if ((size + 1) * 2 > keys.length) {
+                rehash();
+            }
+
+            int index = indexOf(key);
+            while (keys[index] != EMPTY && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == EMPTY) {
+                keys[index] = key;
+                size++;
+            }
+            values[index] = value;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        private int indexOf(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * 상품명 ↔ 번호 사전, 같은 상품명은 한 번만 보관한다.
+     * 상품명 → 번호는 (번호 + 1)을 담는 int 오픈 어드레싱 테이블로 찾고(0은 빈 칸), 번호 → 상품명은 배열로 찾는다.
+     * 참조 수가 0이 된 번호는 테이블에서 지우고(뒤 칸을 당겨서 채운다) 다음에 등록하는 상품명에 다시 쓴다.
+     */
+    private static final class NameDictionary {
+
+        private String[] names;
+        private int[] refCounts;
+        private int[] freeCodes;
+        private int freeCount;
+        private int nextCode;
+        private int size;
+
+        private int[] slots;
+        private int mask;
+
+        private NameDictionary(int capacity) {
+            names = new String[capacity];
+            refCounts = new int[capacity];
+            freeCodes = new int[capacity];
+            allocate(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 2);
+        }
+
+        private String get(int code) {
+            return names[code];
+        }
+
+        /**
+         * 상품명의 번호를 찾고 참조 수를 1 올린다. 없으면 등록한다.
+         */
+        private int acquire(String name) {
+            int index = indexOf(name);
+            while (slots[index] != 0) {
+                int code = slots[index] - 1;
+                if (names[code].equals(name)) {
+                    refCounts[code]++;
+                    return code;
+                }
+                index = (index + 1) & mask;
+            }
+
+            int code = freeCount > 0 ? freeCodes[--freeCount] : newCode();
+            names[code] = name;
+            refCounts[code] = 1;
+            slots[index] = code + 1;
+            if (++size * 2 > slots.length) {
+                rehash();
+            }
+            return code;
+        }
+
+        /**
+         * 참조 수를 1 내리고, 0이 되면 사전에서 지운다.
+         */
+        private void release(int code) {
+            if (--refCounts[code] > 0) {
+                return;
+            }
+            removeSlot(code);
+            names[code] = null;
+            if (freeCount == freeCodes.length) {
+                freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+            }
+            freeCodes[freeCount++] = code;
+            size--;
+        }
+
+        private void clear() {
+            Arrays.fill(names, 0, nextCode, null);
+            Arrays.fill(refCounts, 0, nextCode, 0);
+            Arrays.fill(slots, 0);
+            freeCount = 0;
+            nextCode = 0;
+            size = 0;
+        }
+
+        private int newCode() {
+            if (nextCode == names.length) {
+                names = Arrays.copyOf(names, nextCode * 2);
+                refCounts = Arrays.copyOf(refCounts, nextCode * 2);
+            }
+            return nextCode++;
+        }
+
+        /**
+         * 지운 칸 뒤에 이어진 항목 중 원래 자리가 지운 칸 이전인 항목을 당겨서 찾는 경로가 끊기지 않게 한다.
+         */
+        private void removeSlot(int code) {
+            int hole = indexOf(names[code]);
+            while (slots[hole] != code + 1) {
+                hole = (hole + 1) & mask;
+            }
+
+            int next = (hole + 1) & mask;
+            while (slots[next] != 0) {
+                int home = indexOf(names[slots[next] - 1]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    slots[hole] = slots[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            slots[hole] = 0;
+        }
+
+        private void rehash() {
+            int[] oldSlots = slots;
+            allocate(oldSlots.length * 2);
+            for (int slot : oldSlots) {
+                if (slot != 0) {
+                    int index = indexOf(names[slot - 1]);
+                    while (slots[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    slots[index] = slot;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            slots = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private int indexOf(String name) {
+            int hash = name.hashCode() * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
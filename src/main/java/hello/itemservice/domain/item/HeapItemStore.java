@@ -0,0 +1,49 @@
+package hello.itemservice.domain.item;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Item 객체를 그대로 ConcurrentHashMap에 보관한다. (기본 저장 방식)
+ * 상품마다 AtomicReference를 두고, 수정은 새 Item으로 compareAndSet 해서 잠금 없이 바꾼다.
+ * 저장된 Item은 바꾸지 않으므로 읽는 쪽은 항상 한 버전의 완전한 상품을 본다.
+ */
+public class HeapItemStore implements ItemStore {
+
+    private final Map<Long, AtomicReference<Item>> store = new ConcurrentHashMap<>();
+
+    @Override
+    public Item get(long id) {
+        AtomicReference<Item> ref = store.get(id);
+        return ref == null ? null : ref.get();
+    }
+
+    @Override
+    public void put(Item item) {
+        AtomicReference<Item> ref = store.putIfAbsent(item.getId(), new AtomicReference<>(item));
+        if (ref != null) {
+            ref.set(item);
+        }
+    }
+
+    @Override
+    public boolean replace(long id, long expectedVersion, Item replacement) {
+        AtomicReference<Item> ref = store.get(id);
+        if (ref == null) {
+            return false;
+        }
+        Item current = ref.get();
+        return current.getVersion() == expectedVersion && ref.compareAndSet(current, replacement);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+}
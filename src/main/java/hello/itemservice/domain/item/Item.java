@@ -17,6 +17,10 @@ public class Item {
     private Integer price;
     private Integer quantity;
 
+    // 저장소가 관리한다. 저장할 때 1, 수정할 때마다 1씩 증가하고 수정 시각(epoch millis)을 남긴다.
+    private Long version;
+    private Long lastModified;
+
     public Item() {
     }
     // 테스트용입니다
@@ -0,0 +1,101 @@
+package hello.itemservice.domain.item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * 로그 레코드 인코딩
+ * [payload 길이(int)][payload CRC32(int)][payload]
+ * payload = [타입(byte)][id(long)][itemName][price][quantity][version(long)][lastModified(long)], null 값은 따로 표시한다.
+ * version, lastModified가 없는 이전 형식의 레코드는 version 1, lastModified 0으로 읽는다.
+ */
+final class ItemCodec {
+
+    static final int HEADER_SIZE = 8;
+
+    private ItemCodec() {
+    }
+
+    static byte[] encodeRecord(byte type, Item item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(type);
+            out.writeLong(item.getId());
+            writeString(out, item.getItemName());
+            writeInteger(out, item.getPrice());
+            writeInteger(out, item.getQuantity());
+            out.writeLong(item.getVersion() == null ? 1L : item.getVersion());
+            out.writeLong(item.getLastModified() == null ? 0L : item.getLastModified());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        int payloadLength = record.length - HEADER_SIZE;
+        ByteBuffer header = ByteBuffer.wrap(record, 0, HEADER_SIZE);
+        header.putInt(payloadLength);
+        header.putInt(checksum(record, HEADER_SIZE, payloadLength));
+        return record;
+    }
+
+    static Item decodePayload(ByteBuffer payload) {
+        payload.get(); // 타입, 모든 레코드는 상품의 전체 상태를 담고 있으므로 재생할 때는 구분하지 않는다.
+        Item item = new Item();
+        item.setId(payload.getLong());
+        item.setItemName(readString(payload));
+        item.setPrice(readInteger(payload));
+        item.setQuantity(readInteger(payload));
+        if (payload.remaining() >= 16) {
+            item.setVersion(payload.getLong());
+            item.setLastModified(payload.getLong());
+        } else {
+            item.setVersion(1L);
+            item.setLastModified(0L);
+        }
+        return item;
+    }
+
+    static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeInt(value == null ? 0 : value);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] encoded = new byte[length];
+        in.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        boolean present = in.get() != 0;
+        int value = in.getInt();
+        return present ? value : null;
+    }
+}
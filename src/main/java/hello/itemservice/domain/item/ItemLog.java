@@ -0,0 +1,259 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 상품 저장/수정 기록을 남기는 추가 전용 로그 (write-ahead log)
+ *
+ * append()는 레코드를 메모리에 쌓기만 하고, awaitDurable()을 먼저 호출한 스레드가
+ * 그때까지 쌓인 레코드를 한 번에 기록하고 force 한다. (group commit)
+ * 로그가 compactThreshold 보다 커지면 이전 스냅샷과 로그를 합친 새 스냅샷을 남기고 로그를 비운다.
+ */
+@Slf4j
+public class ItemLog implements Closeable {
+
+    static final byte SAVE = 1;
+    static final byte UPDATE = 2;
+
+    private static final String LOG_FILE = "items.log";
+    private static final String SNAPSHOT_FILE = "items.snapshot";
+
+    private final Path directory;
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final long compactThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+
+    private FileChannel channel;
+
+    private List<byte[]> pending = new ArrayList<>();
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private IOException failure;
+
+    public ItemLog(Path directory, long compactThreshold) {
+        this.directory = directory;
+        this.logFile = directory.resolve(LOG_FILE);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * 스냅샷을 읽고 그 뒤의 로그를 재생해서 저장소를 복구한 다음, 이어서 기록할 수 있도록 연다.
+     * 기록 도중 종료되어 마지막 레코드가 깨져 있으면 그 앞까지만 재생하고 잘라낸다.
+     */
+    public void open(Consumer<Item> replay) throws IOException {
+        Files.createDirectories(directory);
+        if (Files.exists(snapshotFile)) {
+            int count = ItemSnapshot.read(snapshotFile, replay);
+            log.info("상품 스냅샷 로딩 완료. items={}", count);
+        }
+        long validLength = Files.exists(logFile) ? replay(replay) : 0L;
+
+        channel = FileChannel.open(logFile, CREATE, WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+    }
+
+    /**
+     * 레코드를 쌓아두고 순번을 반환한다. 디스크에 기록되었는지는 awaitDurable()로 확인한다.
+     */
+    public long append(byte type, Item item) {
+        byte[] record = ItemCodec.encodeRecord(type, item);
+        lock.lock();
+        try {
+            pending.add(record);
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 여러 레코드를 이어서 쌓고 마지막 레코드의 순번을 반환한다.
+     * 모두 인코딩한 뒤에 쌓으므로 하나라도 인코딩에 실패하면 아무것도 쌓지 않는다.
+     */
+    public long appendAll(byte type, List<Item> items) {
+        List<byte[]> records = new ArrayList<>(items.size());
+        for (Item item : items) {
+            records.add(ItemCodec.encodeRecord(type, item));
+        }
+        lock.lock();
+        try {
+            pending.addAll(records);
+            appended += records.size();
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * sequence 번 레코드까지 디스크에 기록될 때까지 기다린다.
+     * 기록 중인 스레드가 없으면 직접 쌓인 레코드를 모아서 기록한다.
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durable < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("상품 로그 기록 실패", failure);
+                }
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+
+                flushing = true;
+                List<byte[]> batch = pending;
+                long batchSequence = appended;
+                pending = new ArrayList<>();
+
+                lock.unlock();
+                try {
+                    write(batch);
+                } catch (IOException e) {
+                    failure = e;
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    flushed.signalAll();
+                }
+
+                if (failure == null) {
+                    durable = batchSequence;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        long last;
+        lock.lock();
+        try {
+            last = appended;
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(last);
+
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replay(Consumer<Item> replay) throws IOException {
+        long fileSize = Files.size(logFile);
+        long validLength = 0L;
+        int records = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while (true) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > fileSize - validLength - ItemCodec.HEADER_SIZE) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (ItemCodec.checksum(payload, 0, payload.length) != checksum) {
+                    break;
+                }
+                replay.accept(ItemCodec.decodePayload(ByteBuffer.wrap(payload)));
+                validLength += ItemCodec.HEADER_SIZE + payload.length;
+                records++;
+            }
+        }
+
+        if (validLength < fileSize) {
+            log.warn("상품 로그 끝의 손상된 레코드를 버립니다. file={}, valid={}, size={}", logFile, validLength, fileSize);
+        }
+        log.info("상품 로그 재생 완료. records={}", records);
+        return validLength;
+    }
+
+    private void write(List<byte[]> batch) throws IOException {
+        if (channel == null) {
+            throw new IOException("상품 로그가 열려있지 않습니다.");
+        }
+
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long remaining = 0L;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(batch.get(i));
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        channel.force(false);
+
+        if (channel.size() > compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * 이전 스냅샷과 로그를 합쳐서 상품마다 최신 버전만 남긴 스냅샷을 만들고 로그를 비운다.
+     * 로그에 기록된 뒤 아직 저장소에 반영되지 않은 쓰기가 있을 수 있으므로 저장소가 아니라 디스크에 기록된 내용으로 만든다.
+     * 스냅샷 교체가 디스크에 반영되기 전에는 로그를 비우지 않으므로, 그 사이에 종료되면 이전 스냅샷과 로그 전체가 다시 재생된다.
+     */
+    private void compact() throws IOException {
+        Map<Long, Item> items = new HashMap<>();
+        Consumer<Item> merge = item -> items.merge(item.getId(), item, ItemLog::newer);
+        if (Files.exists(snapshotFile)) {
+            ItemSnapshot.read(snapshotFile, merge);
+        }
+        replay(merge);
+        ItemSnapshot.write(snapshotFile, items.values());
+
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        log.info("상품 스냅샷 저장 완료. items={}", items.size());
+    }
+
+    private static Item newer(Item oldItem, Item item) {
+        return oldItem.getVersion() > item.getVersion() ? oldItem : item;
+    }
+}
@@ -1,41 +1,694 @@
 package hello.itemservice.domain.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    public static final int MAX_PAGE_SIZE = 100;
 
+    private final ItemStore store;
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>(); // id 순서 인덱스
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 보조 인덱스: 상품명(정확히 일치/접두어), 가격(범위)
+    private final SortedIndex<String> itemNameIndex = new SortedIndex<>();
+    private final SortedIndex<Integer> priceIndex = new SortedIndex<>();
+
+    // 쓰기가 일어날 때마다 증가한다. findAll()은 버전이 같으면 만들어 둔 목록을 그대로 공유한다.
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(0L, Collections.emptyList());
+
+    // 영속화 모드에서만 사용한다. (item.persistence.enabled=true)
+    private ItemLog itemLog;
+    // 영속화 모드에서 같은 상품의 수정을 로그 기록부터 반영까지 한 번에 하나씩 한다. (상품 id로 나눈 잠금)
+    private final Lock[] updateLocks = new Lock[64];
+
+    // 저장/수정을 묶어서 적용한다. (item.write-pipeline.enabled=true) 없으면 호출한 스레드에서 바로 적용한다.
+    private ItemWritePipeline writePipeline;
+
+    // 작업별 타이머, 레지스트리가 없으면 기록하지 않는다.
+    private ItemRepositoryMetrics metrics = new ItemRepositoryMetrics();
+
+    public ItemRepository() {
+        this(new HeapItemStore());
+    }
+
+    @Autowired
+    public ItemRepository(ItemStore store) {
+        this.store = store;
+        for (int i = 0; i < updateLocks.length; i++) {
+            updateLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Autowired(required = false)
+    public void setItemLog(ItemLog itemLog) {
+        this.itemLog = itemLog;
+    }
+
+    @Autowired(required = false)
+    public void setWritePipeline(ItemWritePipeline writePipeline) {
+        this.writePipeline = writePipeline;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = new ItemRepositoryMetrics(meterRegistry, store::size);
+    }
+
+    /**
+     * 영속화 모드라면 로그를 재생해서 저장소를 복구한다.
+     * 쓰기 파이프라인은 복구가 끝난 뒤에 시작한다.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        if (itemLog != null) {
+            itemLog.open(this::restore);
+        }
+        if (writePipeline != null) {
+            writePipeline.start(this::writeBatch);
+        }
+    }
+
+    /**
+     * 쓰기 파이프라인을 먼저 닫아서 큐에 남은 쓰기를 로그에 기록한다.
+     * ItemLog는 이 저장소가 의존하는 빈이므로 이 메서드가 끝난 뒤에 닫힌다.
+     */
+    @PreDestroy
+    public void close() {
+        if (writePipeline != null) {
+            writePipeline.close();
+        }
+    }
+
+    /**
+     * 상품을 저장하고, 영속화 모드라면 로그에 기록될 때까지 기다린다.
+     * 쓰기 파이프라인을 사용하면 다른 요청과 함께 묶어서 적용된다.
+     */
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
+        long start = System.nanoTime();
+        try {
+            if (writePipeline != null) {
+                return join(writePipeline.save(item));
+            }
+            prepareSave(item);
+            awaitDurable(append(ItemLog.SAVE, item));
+            applySave(item);
+            version.incrementAndGet();
+            return item;
+        } finally {
+            metrics.save.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * save()와 같지만 기다리지 않고, 로그에 기록된 뒤에 완료되는 future를 반환한다.
+     */
+    public CompletableFuture<Item> saveAsync(Item item) {
+        if (writePipeline != null) {
+            return writePipeline.save(item);
+        }
+        return CompletableFuture.completedFuture(save(item));
+    }
+
+    /**
+     * 여러 상품을 한 번에 저장한다. 목록 스냅샷 무효화와 로그 기록 대기도 한 번만 한다.
+     * 로그에 모두 기록된 뒤에 한꺼번에 반영하므로, 기록에 실패하면 어떤 상품도 저장되지 않는다.
+     * 쓰기 파이프라인을 사용하면 목록 전체가 쓰기 하나로 한 묶음에 들어간다.
+     */
+    public List<Item> saveAll(List<Item> items) {
+        long start = System.nanoTime();
+        try {
+            if (writePipeline != null) {
+                return join(writePipeline.saveAll(items));
+            }
+            for (Item item : items) {
+                prepareSave(item);
+            }
+            awaitDurable(appendAll(ItemLog.SAVE, items));
+
+            for (Item item : items) {
+                applySave(item);
+            }
+            version.incrementAndGet();
+            return items;
+        } finally {
+            metrics.saveAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public Item findById(Long id) {
-        return store.get(id);
+        long start = System.nanoTime();
+        try {
+            return store.get(id);
+        } finally {
+            metrics.findById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
+    /**
+     * 상품 목록을 만들지 않고 상품이 없는지 확인한다.
+     */
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    /**
+     * 읽기 전용 목록을 반환한다. 저장/수정이 없었다면 매번 같은 목록을 돌려준다.
+     */
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        long start = System.nanoTime();
+        try {
+            Snapshot current = snapshot;
+            long currentVersion = version.get();
+            if (current.version != currentVersion) {
+                List<Item> items = new ArrayList<>(store.size());
+                for (Long id : ids) {
+                    Item item = store.get(id);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+                current = new Snapshot(currentVersion, Collections.unmodifiableList(items));
+                snapshot = current;
+            }
+            return current.items;
+        } finally {
+            metrics.findAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+    /**
+     * lastId 다음 상품부터 limit 개를 id 순서로 반환한다. lastId가 null이면 처음부터 조회한다.
+     */
+    public List<Item> findAfter(Long lastId, int limit) {
+        long start = System.nanoTime();
+        try {
+            NavigableSet<Long> tail = lastId == null ? ids : ids.tailSet(lastId, false);
+            int size = pageSize(limit);
+            List<Item> result = new ArrayList<>(size);
+            for (Long id : tail) {
+                Item item = store.get(id);
+                if (item != null) {
+                    result.add(item);
+                    if (result.size() == size) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            metrics.findAfter.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * lastId 다음 상품이 있는지 확인한다. lastId가 null이면 상품이 하나라도 있는지 확인한다.
+     */
+    public boolean hasAfter(Long lastId) {
+        return lastId == null ? !ids.isEmpty() : ids.higher(lastId) != null;
+    }
+
+    public List<Item> findByItemName(String itemName, int limit) {
+        long start = System.nanoTime();
+        try {
+            return collect(iterateByItemName(itemName), pageSize(limit));
+        } finally {
+            metrics.findByIndex.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public List<Item> findByItemNameStartingWith(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return collect(iterateByItemNameStartingWith(prefix), pageSize(limit));
+        } finally {
+            metrics.findByIndex.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * minPrice 이상 maxPrice 이하인 상품을 가격 순서로 반환한다.
+     */
+    public List<Item> findByPriceBetween(int minPrice, int maxPrice, int limit) {
+        long start = System.nanoTime();
+        try {
+            return collect(iterateByPriceBetween(minPrice, maxPrice), pageSize(limit));
+        } finally {
+            metrics.findByIndex.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 상품을 수정하고 버전을 1 올린다. 저장된 Item은 바꾸지 않고 새 버전의 Item으로 교체(compare-and-set)한다.
+     * updateParam.version이 있으면 저장된 상품이 그 버전일 때만 수정한다. (낙관적 잠금)
+     * 버전이 없으면 다른 요청과 부딪혔을 때 최신 버전을 다시 읽어서 재시도한다.
+     * 영속화 모드에서는 로그에 기록한 뒤에 교체하므로, 기록하는 동안 같은 상품의 수정은 상품별 잠금으로 한 번에 하나씩 한다.
+     *
+     * @return 수정했으면 UPDATED, 상품이 없으면 NOT_FOUND, 그 사이에 다른 요청이 먼저 수정했으면(버전 충돌) CONFLICT
+     */
+    public UpdateResult update(Long itemId, Item updateParam) {
+        long start = System.nanoTime();
+        try {
+            if (writePipeline != null) {
+                return join(writePipeline.update(itemId, updateParam));
+            }
+            return itemLog == null ? updateInMemory(itemId, updateParam) : updateDurably(itemId, updateParam);
+        } finally {
+            metrics.update.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * update()와 같지만 기다리지 않고, 로그에 기록된 뒤에 완료되는 future를 반환한다.
+     */
+    public CompletableFuture<UpdateResult> updateAsync(Long itemId, Item updateParam) {
+        if (writePipeline != null) {
+            return writePipeline.update(itemId, updateParam);
+        }
+        return CompletableFuture.completedFuture(update(itemId, updateParam));
+    }
+
+    /**
+     * 저장소가 바뀔 때마다 증가하는 버전
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     public void clearStore() {
         store.clear();
+        ids.clear();
+        itemNameIndex.clear();
+        priceIndex.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 로그에 기록된 상품 상태를 저장소에 반영한다. 시작할 때 한 스레드에서만 호출된다.
+     * 이미 더 최신 버전이 반영되어 있으면 건너뛴다. (동시 수정으로 로그 순서가 버전 순서와 다를 수 있다)
+     */
+    private void restore(Item item) {
+        Item oldItem = store.get(item.getId());
+        if (oldItem != null) {
+            if (oldItem.getVersion() > item.getVersion()) {
+                return;
+            }
+            unindex(oldItem);
+        }
+        store.put(item);
+        index(item);
+        ids.add(item.getId());
+        sequence.accumulateAndGet(item.getId(), Math::max);
+        version.incrementAndGet();
+    }
+
+    /**
+     * lastId 다음 상품부터 id 순서로 하나씩 꺼낸다. lastId가 null이면 처음부터 꺼낸다.
+     * 목록을 만들지 않고 id 인덱스를 그대로 따라가므로 개수 제한이 없다. (큰 결과를 스트리밍할 때 사용)
+     * 꺼내는 도중에 저장/수정된 상품은 보일 수도 있고 보이지 않을 수도 있다.
+     */
+    public Iterator<Item> iterateAfter(Long lastId) {
+        NavigableSet<Long> tail = lastId == null ? ids : ids.tailSet(lastId, false);
+        return new ItemIterator(tail.iterator());
+    }
+
+    public Iterator<Item> iterateByItemName(String itemName) {
+        return new IndexedItemIterator<>(itemNameIndex, Item::getItemName, itemName, itemName);
+    }
+
+    public Iterator<Item> iterateByItemNameStartingWith(String prefix) {
+        return new IndexedItemIterator<>(itemNameIndex, Item::getItemName, prefix, prefix + Character.MAX_VALUE);
+    }
+
+    /**
+     * minPrice 이상 maxPrice 이하인 상품을 가격 순서로 하나씩 꺼낸다.
+     */
+    public Iterator<Item> iterateByPriceBetween(int minPrice, int maxPrice) {
+        return new IndexedItemIterator<>(priceIndex, Item::getPrice, minPrice, maxPrice);
+    }
+
+    /**
+     * 저장할 상품에 id와 버전을 정한다. 아직 저장소에는 반영하지 않는다.
+     */
+    private void prepareSave(Item item) {
+        item.setId(sequence.incrementAndGet());
+        stamp(item, 1L);
+    }
+
+    private void applySave(Item item) {
+        store.put(item);
+        ids.add(item.getId());
+        index(item);
+    }
+
+    /**
+     * current를 updateParam 값으로 바꾼 새 버전을 만든다. 버전이 맞지 않으면 null을 반환한다.
+     */
+    private static Item prepareUpdate(Item current, Item updateParam) {
+        Long expectedVersion = updateParam.getVersion();
+        if (expectedVersion != null && expectedVersion.longValue() != current.getVersion()) {
+            return null;
+        }
+        Item updated = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+        updated.setId(current.getId());
+        stamp(updated, current.getVersion() + 1);
+        return updated;
+    }
+
+    /**
+     * 영속화하지 않을 때: 잠금 없이 compare-and-set 하고, 다른 요청과 부딪히면 다시 읽어서 재시도한다.
+     */
+    private UpdateResult updateInMemory(Long itemId, Item updateParam) {
+        while (true) {
+            Item current = store.get(itemId);
+            if (current == null) {
+                return UpdateResult.NOT_FOUND;
+            }
+            Item updated = prepareUpdate(current, updateParam);
+            if (updated == null) {
+                return UpdateResult.CONFLICT;
+            }
+            if (store.replace(itemId, current.getVersion(), updated)) {
+                reindex(current, updated);
+                version.incrementAndGet();
+                return UpdateResult.UPDATED;
+            }
+        }
+    }
+
+    /**
+     * 영속화할 때: 로그에 먼저 기록하고, 기록된 뒤에 저장소에 반영한다. (write-ahead)
+     * 기록에 실패하면 저장소는 바뀌지 않는다. 기록하는 동안 다른 요청이 같은 상품을 바꾸지 못하도록 상품별 잠금을 잡는다.
+     */
+    private UpdateResult updateDurably(Long itemId, Item updateParam) {
+        Lock lock = updateLocks[Long.hashCode(itemId) & (updateLocks.length - 1)];
+        lock.lock();
+        try {
+            Item current = store.get(itemId);
+            if (current == null) {
+                return UpdateResult.NOT_FOUND;
+            }
+            Item updated = prepareUpdate(current, updateParam);
+            if (updated == null) {
+                return UpdateResult.CONFLICT;
+            }
+            awaitDurable(append(ItemLog.UPDATE, updated));
+            applyUpdate(current, updated);
+            version.incrementAndGet();
+            return UpdateResult.UPDATED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 로그에 기록된 수정을 반영한다. 같은 상품의 쓰기는 한 번에 하나뿐이므로 교체는 항상 성공해야 한다.
+     */
+    private void applyUpdate(Item current, Item updated) {
+        if (!store.replace(current.getId(), current.getVersion(), updated)) {
+            throw new IllegalStateException("상품이 기록 중에 바뀌었습니다. itemId=" + current.getId());
+        }
+        reindex(current, updated);
+    }
+
+    /**
+     * 로그 레코드를 쌓고 순번을 반환한다. (영속화 모드가 아니면 0)
+     */
+    private long append(byte type, Item item) {
+        return itemLog != null ? itemLog.append(type, item) : 0L;
+    }
+
+    /**
+     * 로그 레코드를 모두 쌓거나 하나도 쌓지 않는다. 마지막 레코드의 순번을 반환한다. (영속화 모드가 아니면 0)
+     */
+    private long appendAll(byte type, List<Item> items) {
+        return itemLog != null ? itemLog.appendAll(type, items) : 0L;
+    }
+
+    private void awaitDurable(long logSequence) {
+        if (logSequence > 0) {
+            itemLog.awaitDurable(logSequence);
+        }
+    }
+
+    /**
+     * 쓰기 파이프라인의 한 묶음을 적용한다. 쓰기 스레드 하나만 호출하므로 이 사이에 다른 쓰기는 없다.
+     * 묶음 전체를 로그에 기록하고 한 번만 기다린 뒤 저장소에 반영한다. 기록에 실패하면 묶음의 어떤 쓰기도 반영하지 않는다.
+     * 같은 묶음에서 같은 상품을 여러 번 수정하면 앞의 수정 결과를 기준으로 다음 수정을 만든다.
+     * saveAll은 목록의 모든 상품을 준비하고 로그에 쌓은 뒤에만 묶음에 넣으므로, 중간에 실패하면 어떤 상품도 반영하지 않는다.
+     */
+    private void writeBatch(List<ItemWritePipeline.Write<?>> batch) {
+        Map<Long, Item> pending = new HashMap<>();
+        List<Change> changes = new ArrayList<>(batch.size());
+
+        long logSequence = 0L;
+        for (ItemWritePipeline.Write<?> write : batch) {
+            try {
+                if (write.isSaveAll()) {
+                    List<Change> saved = new ArrayList<>(write.items.size());
+                    for (Item item : write.items) {
+                        prepareSave(item);
+                        saved.add(new Change(write, null, item));
+                    }
+                    logSequence = appendAll(ItemLog.SAVE, write.items);
+                    changes.addAll(saved);
+                    write.succeed(write.items);
+                    continue;
+                }
+                if (write.isSave()) {
+                    prepareSave(write.item);
+                    logSequence = append(ItemLog.SAVE, write.item);
+                    changes.add(new Change(write, null, write.item));
+                    write.succeed(write.item);
+                    continue;
+                }
+
+                Item current = pending.get(write.itemId);
+                if (current == null) {
+                    current = store.get(write.itemId);
+                }
+                if (current == null) {
+                    write.succeed(UpdateResult.NOT_FOUND);
+                    continue;
+                }
+                Item updated = prepareUpdate(current, write.item);
+                if (updated == null) {
+                    write.succeed(UpdateResult.CONFLICT);
+                    continue;
+                }
+                logSequence = append(ItemLog.UPDATE, updated);
+                pending.put(write.itemId, updated);
+                changes.add(new Change(write, current, updated));
+                write.succeed(UpdateResult.UPDATED);
+            } catch (RuntimeException e) {
+                write.fail(e);
+            }
+        }
+        awaitDurable(logSequence);
+
+        for (Change change : changes) {
+            try {
+                if (change.previous == null) {
+                    applySave(change.next);
+                } else {
+                    applyUpdate(change.previous, change.next);
+                }
+            } catch (RuntimeException e) {
+                change.write.fail(e);
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 상품 버전과 수정 시각을 기록한다. (조건부 GET의 ETag, Last-Modified)
+     */
+    private static void stamp(Item item, long itemVersion) {
+        item.setVersion(itemVersion);
+        item.setLastModified(System.currentTimeMillis());
+    }
+
+    private static List<Item> collect(Iterator<Item> items, int limit) {
+        List<Item> result = new ArrayList<>();
+        while (result.size() < limit && items.hasNext()) {
+            result.add(items.next());
+        }
+        return result;
+    }
+
+    private void index(Item item) {
+        itemNameIndex.add(item.getItemName(), item.getId());
+        priceIndex.add(item.getPrice(), item.getId());
+    }
+
+    private void unindex(Item item) {
+        itemNameIndex.remove(item.getItemName(), item.getId());
+        priceIndex.remove(item.getPrice(), item.getId());
+    }
+
+    /**
+     * 같은 상품을 동시에 수정하면 인덱스 갱신 순서가 교체 순서와 다를 수 있다.
+     * 늦게 도착한 이전 버전의 unindex가 최신 버전의 키를 지웠을 수 있으므로, 최신 버전의 키를 다시 넣어서 빠지는 항목이 없게 한다.
+     * 남는 이전 키 항목은 읽을 때 IndexedItemIterator가 지운다.
+     */
+    private void reindex(Item previous, Item updated) {
+        unindex(previous);
+        index(updated);
+
+        Item latest = store.get(updated.getId());
+        if (latest != null && latest.getVersion() > updated.getVersion()) {
+            index(latest);
+        }
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * id 순서대로 상품을 찾아서 꺼낸다. 그 사이에 사라진 상품은 건너뛴다.
+     */
+    private final class ItemIterator implements Iterator<Item> {
+
+        private final Iterator<Long> itemIds;
+        private Item next;
+
+        private ItemIterator(Iterator<Long> itemIds) {
+            this.itemIds = itemIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && itemIds.hasNext()) {
+                next = store.get(itemIds.next());
+            }
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            next = null;
+            return item;
+        }
+    }
+
+    /**
+     * 보조 인덱스를 키 순서로 따라가면서 상품을 꺼낸다.
+     * 상품의 현재 키와 다른 항목(동시 수정으로 남은 이전 키)은 건너뛰고 인덱스에서 지운다.
+     */
+    private final class IndexedItemIterator<K extends Comparable<? super K>> implements Iterator<Item> {
+
+        private final SortedIndex<K> index;
+        private final Function<Item, K> key;
+        private final Iterator<SortedIndex.Entry<K>> entries;
+        private Item next;
+
+        private IndexedItemIterator(SortedIndex<K> index, Function<Item, K> key, K from, K to) {
+            this.index = index;
+            this.key = key;
+            this.entries = index.iterator(from, to);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && entries.hasNext()) {
+                SortedIndex.Entry<K> entry = entries.next();
+                Item item = store.get(entry.id);
+                if (item != null && entry.key.equals(key.apply(item))) {
+                    next = item;
+                } else {
+                    heal(entry);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            next = null;
+            return item;
+        }
+
+        /**
+         * 지우는 사이에 같은 키로 다시 수정되었을 수 있으므로, 지운 뒤에 현재 상품을 다시 확인한다.
+         */
+        private void heal(SortedIndex.Entry<K> entry) {
+            index.remove(entry.key, entry.id);
+            Item latest = store.get(entry.id);
+            if (latest != null && entry.key.equals(key.apply(latest))) {
+                index.add(entry.key, entry.id);
+            }
+        }
+    }
+
+    /**
+     * 로그에 기록한 뒤 저장소에 반영할 변경 하나, previous가 없으면 저장이다.
+     */
+    private static final class Change {
+
+        private final ItemWritePipeline.Write<?> write;
+        private final Item previous;
+        private final Item next;
+
+        private Change(ItemWritePipeline.Write<?> write, Item previous, Item next) {
+            this.write = write;
+            this.previous = previous;
+            this.next = next;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<Item> items;
+
+        private Snapshot(long version, List<Item> items) {
+            this.version = version;
+            this.items = items;
+        }
     }
 
 }
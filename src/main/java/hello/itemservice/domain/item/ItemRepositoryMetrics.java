@@ -0,0 +1,50 @@
+package hello.itemservice.domain.item;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.function.Supplier;
+
+/**
+ * ItemRepository 작업별 타이머 (item.repository{operation=...}), 생성할 때 모두 등록해 둔다.
+ * 분위수 히스토그램은 타이머마다 수십 개의 시계열을 만들므로 기본으로 켜지 않는다.
+ * 필요하면 management.metrics.distribution.percentiles-histogram.item.repository=true 로 켠다.
+ * 레지스트리가 없으면 아무 곳에도 기록하지 않는 CompositeMeterRegistry를 사용한다.
+ */
+final class ItemRepositoryMetrics {
+
+    final Timer save;
+    final Timer saveAll;
+    final Timer findById;
+    final Timer findAll;
+    final Timer findAfter;
+    final Timer findByIndex;
+    final Timer update;
+
+    ItemRepositoryMetrics() {
+        this(new CompositeMeterRegistry(), () -> 0);
+    }
+
+    ItemRepositoryMetrics(MeterRegistry registry, Supplier<Number> size) {
+        save = timer(registry, "save");
+        saveAll = timer(registry, "saveAll");
+        findById = timer(registry, "findById");
+        findAll = timer(registry, "findAll");
+        findAfter = timer(registry, "findAfter");
+        findByIndex = timer(registry, "findByIndex");
+        update = timer(registry, "update");
+
+        Gauge.builder("item.repository.size", size)
+                .description("저장된 상품 수")
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("item.repository")
+                .description("ItemRepository 작업 시간")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,143 @@
+package hello.itemservice.domain.item;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 상품 전체를 담는 바이너리 스냅샷 파일, MappedByteBuffer로 읽고 쓴다.
+ * [MAGIC(int)][FORMAT_VERSION(int)][상품 수(int)] 다음에 상품마다
+ * [id(long)][itemName 길이(int, null이면 -1)][itemName(UTF-8)][null 플래그(byte)][price(int)][quantity(int)]
+ * [version(long)][lastModified(long)] (형식 2부터, 형식 1 스냅샷은 version 1, lastModified 0으로 읽는다)
+ */
+final class ItemSnapshot {
+
+    private static final int MAGIC = 0x49544D53; // "ITMS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 12;
+    private static final int FIXED_RECORD_SIZE = 8 + 4 + 1 + 4 + 4 + 8 + 8;
+
+    private static final byte PRICE_PRESENT = 1;
+    private static final byte QUANTITY_PRESENT = 2;
+
+    private ItemSnapshot() {
+    }
+
+    /**
+     * 임시 파일에 기록한 뒤 원자적으로 교체하므로, 기록 도중 종료되어도 이전 스냅샷이 남는다.
+     * 교체 후 디렉터리도 force 해서, 반환된 뒤에는 새 스냅샷이 디스크에 남아있는 것을 보장한다.
+     */
+    static void write(Path file, Collection<Item> items) throws IOException {
+        int count = items.size();
+        byte[][] names = new byte[count][];
+        long size = HEADER_SIZE + (long) FIXED_RECORD_SIZE * count;
+
+        int index = 0;
+        for (Item item : items) {
+            if (index == count) {
+                break;
+            }
+            names[index] = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+            size += names[index] == null ? 0 : names[index].length;
+            index++;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("스냅샷이 너무 큽니다. size=" + size);
+        }
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putInt(index);
+
+            int written = 0;
+            for (Item item : items) {
+                if (written == index) {
+                    break;
+                }
+                byte[] name = names[written++];
+                buffer.putLong(item.getId());
+                buffer.putInt(name == null ? -1 : name.length);
+                if (name != null) {
+                    buffer.put(name);
+                }
+
+                Integer price = item.getPrice();
+                Integer quantity = item.getQuantity();
+                buffer.put((byte) ((price != null ? PRICE_PRESENT : 0) | (quantity != null ? QUANTITY_PRESENT : 0)));
+                buffer.putInt(price != null ? price : 0);
+                buffer.putInt(quantity != null ? quantity : 0);
+                buffer.putLong(item.getVersion() == null ? 1L : item.getVersion());
+                buffer.putLong(item.getLastModified() == null ? 0L : item.getLastModified());
+            }
+            buffer.force();
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * 이름 변경은 디렉터리에 기록되므로 디렉터리를 force 해야 디스크에 남는다.
+     * Windows는 디렉터리를 열 수 없으므로 건너뛰고 파일 시스템의 메타데이터 저널에 맡긴다.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 스냅샷의 상품을 순서대로 넘겨주고 상품 수를 반환한다.
+     */
+    static int read(Path file, Consumer<Item> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("스냅샷 형식이 올바르지 않습니다. file=" + file);
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 형식입니다. file=" + file + ", format=" + formatVersion);
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                Item item = new Item();
+                item.setId(buffer.getLong());
+
+                int nameLength = buffer.getInt();
+                if (nameLength >= 0) {
+                    byte[] name = new byte[nameLength];
+                    buffer.get(name);
+                    item.setItemName(new String(name, StandardCharsets.UTF_8));
+                }
+
+                byte flags = buffer.get();
+                int price = buffer.getInt();
+                int quantity = buffer.getInt();
+                item.setPrice((flags & PRICE_PRESENT) != 0 ? price : null);
+                item.setQuantity((flags & QUANTITY_PRESENT) != 0 ? quantity : null);
+                item.setVersion(formatVersion >= 2 ? buffer.getLong() : 1L);
+                item.setLastModified(formatVersion >= 2 ? buffer.getLong() : 0L);
+                consumer.accept(item);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package hello.itemservice.domain.item;
+
+/**
+ * ItemRepository가 상품을 실제로 보관하는 저장 방식
+ * 인덱스, 스냅샷, 로그는 ItemRepository가 관리하고, 저장 방식은 id로 상품을 찾고 바꾸는 일만 한다.
+ */
+public interface ItemStore {
+
+    Item get(long id);
+
+    void put(Item item);
+
+    /**
+     * 저장된 상품의 버전이 expectedVersion 이면 replacement로 바꾸고 true를 반환한다. (compare-and-set)
+     * 상품이 없거나 그 사이에 다른 버전으로 바뀌었으면 아무것도 바꾸지 않고 false를 반환한다.
+     */
+    boolean replace(long id, long expectedVersion, Item replacement);
+
+    int size();
+
+    void clear();
+}
@@ -0,0 +1,218 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 상품 저장/수정을 모아서 한 스레드가 묶음으로 적용하는 쓰기 파이프라인 (item.write-pipeline.enabled=true)
+ *
+ * 여러 요청 스레드가 크기가 정해진 큐에 쓰기를 넣고(큐가 가득 차면 기다린다), 쓰기 스레드 하나가 꺼내서 적용한다.
+ * 첫 쓰기를 꺼낸 뒤 maxLatency 동안 또는 maxBatch 개가 모일 때까지 더 모으고,
+ * 묶음 전체를 로그에 기록하고 한 번만 기다린 다음 저장소에 적용한다.
+ * 요청 스레드에는 로그 기록까지 끝난 뒤에 CompletableFuture로 결과를 알려준다.
+ */
+@Slf4j
+public class ItemWritePipeline implements Closeable {
+
+    private static final Write<Void> STOP = new Write<>(null, null, null);
+
+    private final BlockingQueue<Write<?>> queue;
+    private final int maxBatch;
+    private final long maxLatencyNanos;
+
+    private Consumer<List<Write<?>>> batchWriter;
+    private Thread writer;
+    private volatile boolean running;
+
+    public ItemWritePipeline(int maxBatch, Duration maxLatency, int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = Math.max(maxBatch, 1);
+        this.maxLatencyNanos = Math.max(maxLatency.toNanos(), 0L);
+    }
+
+    /**
+     * 쓰기 스레드를 시작한다. batchWriter는 묶음의 쓰기마다 succeed()/fail()로 결과를 정한다.
+     */
+    synchronized void start(Consumer<List<Write<?>>> batchWriter) {
+        if (writer != null) {
+            throw new IllegalStateException("상품 쓰기 파이프라인이 이미 시작되었습니다.");
+        }
+        this.batchWriter = batchWriter;
+        writer = new Thread(this::run, "item-writer");
+        writer.setDaemon(true);
+        running = true;
+        writer.start();
+    }
+
+    CompletableFuture<Item> save(Item item) {
+        return submit(new Write<>(null, item, null));
+    }
+
+    CompletableFuture<List<Item>> saveAll(List<Item> items) {
+        return submit(new Write<>(null, null, items));
+    }
+
+    CompletableFuture<UpdateResult> update(Long itemId, Item updateParam) {
+        return submit(new Write<>(itemId, updateParam, null));
+    }
+
+    /**
+     * 큐에 남은 쓰기를 모두 적용한 뒤 쓰기 스레드를 끝낸다.
+     * 쓰기 스레드가 로그 파일에 쓰는 중일 수 있으므로 인터럽트하지 않고 STOP을 넣어서 끝낸다.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(STOP);
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        // 닫는 도중에 들어온 쓰기는 적용하지 않는다.
+        List<Write<?>> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        for (Write<?> write : rejected) {
+            write.reject();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Write<T> write) {
+        if (!running) {
+            throw new IllegalStateException("상품 쓰기 파이프라인이 실행 중이 아닙니다.");
+        }
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.future.completeExceptionally(e);
+            return write.future;
+        }
+        // close()가 남은 쓰기를 정리한 뒤에 넣었다면 적용되지 않으므로 직접 거절한다.
+        if (!running && queue.remove(write)) {
+            write.reject();
+        }
+        return write.future;
+    }
+
+    private void run() {
+        List<Write<?>> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxLatencyNanos;
+                while (batch.size() < maxBatch && batch.get(batch.size() - 1) != STOP) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Write<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+
+            stopping |= batch.remove(STOP);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Write<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.accept(batch);
+        } catch (RuntimeException e) {
+            log.error("상품 쓰기 묶음 적용 실패. size={}", batch.size(), e);
+            for (Write<?> write : batch) {
+                write.fail(e);
+            }
+        }
+        for (Write<?> write : batch) {
+            write.complete();
+        }
+    }
+
+    /**
+     * 파이프라인에 넣은 쓰기 하나, items가 있으면 여러 상품 저장, itemId가 없으면 저장, 있으면 수정이다.
+     * 결과는 묶음이 로그에 기록된 뒤에 future로 알려준다.
+     */
+    static final class Write<T> {
+
+        final Long itemId;
+        final Item item;
+        final List<Item> items;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException failure;
+
+        private Write(Long itemId, Item item, List<Item> items) {
+            this.itemId = itemId;
+            this.item = item;
+            this.items = items;
+        }
+
+        boolean isSaveAll() {
+            return items != null;
+        }
+
+        boolean isSave() {
+            return itemId == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void succeed(Object result) {
+            this.result = (T) result;
+        }
+
+        void fail(RuntimeException failure) {
+            if (this.failure == null) {
+                this.failure = failure;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private void reject() {
+            future.completeExceptionally(new IllegalStateException("상품 쓰기 파이프라인이 닫혔습니다."));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package hello.itemservice.domain.item;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * (키, 상품 id) 쌍을 키 순서로 보관하는 보조 인덱스
+ * 같은 키를 가진 상품이 여러 개여도 쌍 단위로 추가/삭제하므로 락 없이 갱신할 수 있다.
+ */
+class SortedIndex<K extends Comparable<? super K>> {
+
+    private final ConcurrentSkipListSet<Entry<K>> entries = new ConcurrentSkipListSet<>();
+
+    void add(K key, long id) {
+        if (key != null) {
+            entries.add(new Entry<>(key, id));
+        }
+    }
+
+    void remove(K key, long id) {
+        if (key != null) {
+            entries.remove(new Entry<>(key, id));
+        }
+    }
+
+    /**
+     * from 이상 to 이하인 (키, 상품 id) 쌍을 키 순서로 하나씩 꺼낸다. 인덱스를 그대로 따라가므로 목록을 만들지 않는다.
+     * 동시에 수정된 상품은 이전 키의 쌍이 잠시 남아 있을 수 있으므로, 꺼낸 쪽에서 상품의 현재 키와 비교해야 한다.
+     */
+    Iterator<Entry<K>> iterator(K from, K to) {
+        if (from.compareTo(to) > 0) {
+            return Collections.emptyIterator();
+        }
+        return entries.subSet(new Entry<>(from, Long.MIN_VALUE), true, new Entry<>(to, Long.MAX_VALUE), true).iterator();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    static final class Entry<K extends Comparable<? super K>> implements Comparable<Entry<K>> {
+
+        final K key;
+        final long id;
+
+        private Entry(K key, long id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<K> other) {
+            int result = key.compareTo(other.key);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 수정 결과
+ * NOT_FOUND: 상품이 없다. CONFLICT: 그 사이에 다른 요청이 먼저 수정했다. (버전 충돌)
+ */
+public enum UpdateResult {
+
+    UPDATED, NOT_FOUND, CONFLICT
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.message;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.MessageCodesResolver;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 등록/수정에서 나올 수 있는 오류의 메시지 코드 목록을 만들어서 지원하는 로케일(message.prerender.locales)마다 미리 찾아 둔다.
+ * (ItemValidator, 컨트롤러 V2의 rejectValue, Bean Validation, 타입 오류, 글로벌 오류)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemErrorMessagePrerenderer {
+
+    private static final String[] OBJECT_NAMES = {"item", "itemSaveForm"};
+    private static final String[] FIELD_CODES = {
+            "required", "range", "max", "min", "typeMismatch", "NotBlank", "NotNull", "Range", "Max"};
+    private static final String[] GLOBAL_CODES = {"totalPriceMin", "versionConflict"};
+
+    private final PrerenderingMessageSource messageSource;
+    private final MessageCodesResolver messageCodesResolver;
+
+    @Value("${message.prerender.locales:ko,ko_KR,en,en_US}")
+    private String[] locales;
+
+    @PostConstruct
+    public void prerender() {
+        List<String[]> codeChains = new ArrayList<>();
+        for (String objectName : OBJECT_NAMES) {
+            for (String code : FIELD_CODES) {
+                codeChains.add(messageCodesResolver.resolveMessageCodes(code, objectName, "itemName", String.class));
+                codeChains.add(messageCodesResolver.resolveMessageCodes(code, objectName, "price", Integer.class));
+                codeChains.add(messageCodesResolver.resolveMessageCodes(code, objectName, "quantity", Integer.class));
+            }
+            for (String code : GLOBAL_CODES) {
+                codeChains.add(messageCodesResolver.resolveMessageCodes(code, objectName));
+            }
+        }
+
+        List<Locale> localeList = new ArrayList<>(locales.length);
+        for (String locale : locales) {
+            localeList.add(StringUtils.parseLocale(locale.trim()));
+        }
+        messageSource.prerender(codeChains, localeList);
+        log.info("오류 메시지 미리 찾기 완료. chains={}, locales={}", codeChains.size(), localeList);
+    }
+}
@@ -0,0 +1,22 @@
+package hello.itemservice.message;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * 메시지 파일을 다시 읽는다. (POST /actuator/messages)
+ * 클래스패스에 올린 디렉터리(개발 중 빌드 디렉터리, loader.path 등)의 메시지 파일을 바꾼 뒤 재시작 없이 반영한다.
+ * 기본으로는 웹에 노출하지 않는다. 관리 포트를 로컬에만 열고 management.endpoints.web.exposure.include에 추가해서 쓴다.
+ */
+@Endpoint(id = "messages")
+@RequiredArgsConstructor
+public class MessageReloadEndpoint {
+
+    private final PrerenderingMessageSource messageSource;
+
+    @WriteOperation
+    public void reload() {
+        messageSource.reload();
+    }
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메시지 조회 수 (message.lookups{result=hit|miss})와 찾지 못한 코드별 조회 수 (message.misses{code})
+ * 찾은 조회는 코드를 구분하지 않고, 빠진 메시지를 찾을 때 필요한 못 찾은 조회만 코드별로 센다.
+ * 못 찾은 코드가 MAX_MISSED_CODES 개를 넘으면 code=other로 모은다.
+ */
+final class MessageSourceMetrics {
+
+    private static final int MAX_MISSED_CODES = 100;
+
+    private final MeterRegistry registry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, Counter> missedCodes = new ConcurrentHashMap<>();
+
+    MessageSourceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.hits = lookups("hit");
+        this.misses = lookups("miss");
+    }
+
+    void record(String code, boolean hit) {
+        if (hit) {
+            hits.increment();
+            return;
+        }
+        misses.increment();
+
+        Counter counter = missedCodes.get(code);
+        if (counter == null) {
+            counter = missedCodes.computeIfAbsent(missedCodes.size() < MAX_MISSED_CODES ? code : "other", this::missedCode);
+        }
+        counter.increment();
+    }
+
+    private Counter lookups(String result) {
+        return Counter.builder("message.lookups")
+                .description("메시지 코드 조회 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter missedCode(String code) {
+        return Counter.builder("message.misses")
+                .description("메시지를 찾지 못한 코드별 조회 수")
+                .tag("code", code)
+                .register(registry);
+    }
+}
@@ -0,0 +1,203 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메시지 파일(messages, errors ...)을 로케일마다 한 번만 읽어서 코드 → MessageFormat 맵 하나로 합쳐 둔다.
+ * 맵에는 그 로케일에서 찾을 수 있는 모든 코드가 들어있으므로, 코드 하나를 찾는 데 해시 조회 한 번이면 되고
+ * 맵에 없으면 바로 없는 코드로 판단한다. (오류 메시지 코드 목록을 차례로 찾을 때 대부분 없는 코드다)
+ *
+ * 찾는 순서는 ResourceBundleMessageSource와 같다.
+ * basename 순서대로, 각 basename 안에서는 ko_KR → ko → (없으면 시스템 로케일) → 기본 파일 순서
+ */
+@Slf4j
+public class PrecompiledMessageSource extends AbstractMessageSource {
+
+    private static final String SUFFIX = ".properties";
+
+    private final List<String> basenames;
+    private Charset encoding = StandardCharsets.UTF_8;
+    private boolean fallbackToSystemLocale = true;
+
+    private final Map<Locale, Catalog> catalogs = new ConcurrentHashMap<>();
+    private volatile MessageSourceMetrics metrics = new MessageSourceMetrics(new CompositeMeterRegistry());
+
+    public PrecompiledMessageSource(String... basenames) {
+        List<String> names = new ArrayList<>(basenames.length);
+        for (String basename : basenames) {
+            names.add(basename.trim());
+        }
+        this.basenames = Collections.unmodifiableList(names);
+    }
+
+    public void setDefaultEncoding(Charset encoding) {
+        this.encoding = encoding;
+    }
+
+    public void setFallbackToSystemLocale(boolean fallbackToSystemLocale) {
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = new MessageSourceMetrics(meterRegistry);
+    }
+
+    /**
+     * 읽어 둔 메시지를 모두 버린다. 다음 조회 때 메시지 파일을 다시 읽는다.
+     */
+    public void reload() {
+        catalogs.clear();
+        log.info("메시지 파일을 다시 읽습니다. basenames={}", basenames);
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Message message = lookup(code, locale);
+        return message == null ? null : message.text;
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Message message = lookup(code, locale);
+        return message == null ? null : message.format;
+    }
+
+    private Message lookup(String code, Locale locale) {
+        Message message = catalog(locale).get(code);
+        metrics.record(code, message != null);
+        return message;
+    }
+
+    private Catalog catalog(Locale locale) {
+        Catalog catalog = catalogs.get(locale);
+        if (catalog == null) {
+            catalog = catalogs.computeIfAbsent(locale, this::load);
+        }
+        return catalog;
+    }
+
+    private Catalog load(Locale locale) {
+        Map<String, Message> messages = new HashMap<>();
+        for (String basename : basenames) {
+            for (Properties properties : bundleChain(basename, locale)) {
+                for (String code : properties.stringPropertyNames()) {
+                    if (!messages.containsKey(code)) {
+                        String text = properties.getProperty(code);
+                        messages.put(code, new Message(text, compile(code, text, locale)));
+                    }
+                }
+            }
+        }
+        log.debug("메시지 로딩 완료. locale={}, codes={}", locale, messages.size());
+        return new Catalog(messages);
+    }
+
+    /**
+     * 요청 로케일 파일을 하나도 찾지 못하면 시스템 로케일 파일을 사용한다. 기본 파일은 항상 마지막이다.
+     */
+    private List<Properties> bundleChain(String basename, Locale locale) {
+        List<Properties> chain = localeBundles(basename, locale);
+        Locale systemLocale = Locale.getDefault();
+        if (chain.isEmpty() && fallbackToSystemLocale && !locale.equals(systemLocale)) {
+            chain = localeBundles(basename, systemLocale);
+        }
+
+        Properties base = loadProperties(basename + SUFFIX);
+        if (base != null) {
+            chain.add(base);
+        }
+        return chain;
+    }
+
+    private List<Properties> localeBundles(String basename, Locale locale) {
+        List<String> suffixes = new ArrayList<>(3);
+        if (!locale.getVariant().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry() + "_" + locale.getVariant());
+        }
+        if (!locale.getCountry().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry());
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage());
+        }
+
+        List<Properties> bundles = new ArrayList<>(suffixes.size() + 1);
+        for (String suffix : suffixes) {
+            Properties properties = loadProperties(basename + suffix + SUFFIX);
+            if (properties != null) {
+                bundles.add(properties);
+            }
+        }
+        return bundles;
+    }
+
+    private Properties loadProperties(String fileName) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        URL url = classLoader == null ? ClassLoader.getSystemResource(fileName) : classLoader.getResource(fileName);
+        if (url == null) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = url.openStream(); Reader reader = new InputStreamReader(in, encoding)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 파일을 읽을 수 없습니다. file=" + fileName, e);
+        }
+        return properties;
+    }
+
+    private MessageFormat compile(String code, String text, Locale locale) {
+        try {
+            return createMessageFormat(text, locale);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("메시지 형식이 올바르지 않습니다. code=" + code + ", message=" + text, e);
+        }
+    }
+
+    private static final class Catalog {
+
+        private final Map<String, Message> messages;
+
+        private Catalog(Map<String, Message> messages) {
+            this.messages = messages;
+        }
+
+        private Message get(String code) {
+            return messages.get(code);
+        }
+    }
+
+    private static final class Message {
+
+        private final String text;
+        private final MessageFormat format;
+
+        private Message(String text, MessageFormat format) {
+            this.text = text;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 미리 등록한 메시지 코드 목록(예: range.item.price, range.price, range.java.lang.Integer, range)이
+ * 로케일마다 어떤 메시지가 되는지 시작할 때 찾아 둔다.
+ * 요청 때는 코드 목록으로 한 번 조회하고 인자만 채워 넣는다. 등록하지 않은 코드 목록은 delegate가 찾는다.
+ * 미리 지정한 로케일만 찾아 두고, 그 밖의 로케일(Accept-Language로 들어온 임의의 값 등)은 delegate가 찾는다.
+ */
+public class PrerenderingMessageSource implements MessageSource, MeterBinder {
+
+    private final PrecompiledMessageSource delegate;
+
+    private final Set<CodeChain> chains = new LinkedHashSet<>();
+    private final Set<Locale> locales = new LinkedHashSet<>();
+    private volatile Map<Locale, Map<CodeChain, Rendered>> rendered = Collections.emptyMap();
+
+    private final LongAdder prerenderedHits = new LongAdder();
+    private final LongAdder prerenderedMisses = new LongAdder();
+
+    public PrerenderingMessageSource(PrecompiledMessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 코드 목록을 등록하고 locales 별로 메시지를 찾아 둔다.
+     */
+    public synchronized void prerender(Collection<String[]> codeChains, Collection<Locale> locales) {
+        for (String[] codes : codeChains) {
+            chains.add(new CodeChain(codes));
+        }
+        this.locales.addAll(locales);
+        render();
+    }
+
+    /**
+     * 메시지 파일을 다시 읽고, 등록된 코드 목록을 다시 찾아 둔다.
+     */
+    public synchronized void reload() {
+        delegate.reload();
+        render();
+    }
+
+    /**
+     * 미리 찾아 둔 코드 목록의 사용 횟수(message.prerendered{result=hit|miss})와 delegate의 코드별 조회 수를 기록한다.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        delegate.setMeterRegistry(registry);
+        FunctionCounter.builder("message.prerendered", prerenderedHits, LongAdder::sum)
+                .description("미리 찾아 둔 메시지 코드 목록 사용 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("message.prerendered", prerenderedMisses, LongAdder::sum)
+                .description("미리 찾아 둔 메시지 코드 목록 사용 수")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return delegate.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        return delegate.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            Map<CodeChain, Rendered> messages = rendered.get(locale != null ? locale : Locale.getDefault());
+            Rendered message = messages == null ? null : messages.get(new CodeChain(codes));
+            if (message != null) {
+                prerenderedHits.increment();
+                return message.format(resolvable.getArguments(), locale);
+            }
+            prerenderedMisses.increment();
+        }
+        return delegate.getMessage(resolvable, locale);
+    }
+
+    private void render() {
+        List<CodeChain> chainList = new ArrayList<>(chains);
+        Map<Locale, Map<CodeChain, Rendered>> result = new HashMap<>();
+        for (Locale locale : locales) {
+            result.put(locale, render(chainList, locale));
+        }
+        rendered = result;
+    }
+
+    private Map<CodeChain, Rendered> render(List<CodeChain> chains, Locale locale) {
+        Map<CodeChain, Rendered> messages = new HashMap<>();
+        for (CodeChain chain : chains) {
+            for (String code : chain.codes) {
+                String text = delegate.resolveCodeWithoutArguments(code, locale);
+                if (text != null) {
+                    messages.put(chain, new Rendered(text, delegate.resolveCode(code, locale)));
+                    break;
+                }
+            }
+        }
+        return messages;
+    }
+
+    private final class Rendered {
+
+        private final String text;
+        private final MessageFormat format;
+
+        private Rendered(String text, MessageFormat format) {
+            this.text = text;
+            this.format = format;
+        }
+
+        /**
+         * AbstractMessageSource와 같이 인자가 없으면 메시지를 그대로, 있으면 MessageFormat으로 만든다.
+         */
+        private String format(Object[] args, Locale locale) {
+            if (args == null || args.length == 0) {
+                return text;
+            }
+
+            Object[] resolved = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                resolved[i] = args[i] instanceof MessageSourceResolvable
+                        ? getMessage((MessageSourceResolvable) args[i], locale) : args[i];
+            }
+            synchronized (format) {
+                return format.format(resolved);
+            }
+        }
+    }
+
+    private static final class CodeChain {
+
+        private final String[] codes;
+        private final int hash;
+
+        private CodeChain(String[] codes) {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof CodeChain && Arrays.equals(codes, ((CodeChain) o).codes));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.BindingResult;
+
+/**
+ * 일괄 검증 결과, 검증에 실패한 인덱스의 BindingResult만 보관한다.
+ */
+public class BatchValidationResult {
+
+    private final BindingResult[] failures;
+    private final int errorCount;
+
+    BatchValidationResult(BindingResult[] failures) {
+        this.failures = failures;
+
+        int count = 0;
+        for (BindingResult failure : failures) {
+            if (failure != null) {
+                count++;
+            }
+        }
+        this.errorCount = count;
+    }
+
+    public int size() {
+        return failures.length;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public boolean hasErrors(int index) {
+        return failures[index] != null;
+    }
+
+    /**
+     * index 번째 객체의 검증 오류, 오류가 없으면 null
+     */
+    public BindingResult getErrors(int index) {
+        return failures[index];
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+}
@@ -0,0 +1,128 @@
+package hello.itemservice.validation;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ValidationUtils;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 여러 객체를 ForkJoinPool에서 나누어 병렬로 검증한다.
+ * 객체마다 BeanPropertyBindingResult에 검증하므로 오류 코드와 메시지 코드는 @Validated와 같다.
+ */
+@Component
+public class BatchValidator implements DisposableBean {
+
+    private static final int THRESHOLD = 64;
+
+    private final Validator validator;
+    private final ForkJoinPool pool;
+    private MessageCodesResolver messageCodesResolver = new DefaultMessageCodesResolver();
+
+    public BatchValidator(@Qualifier("mvcValidator") Validator validator,
+                          @Value("${validation.batch.parallelism:0}") int parallelism) {
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Autowired(required = false)
+    public void setMessageCodesResolver(MessageCodesResolver messageCodesResolver) {
+        this.messageCodesResolver = messageCodesResolver;
+    }
+
+    /**
+     * targets를 objectName 이름으로 검증한다.
+     * Bean Validation 다음에 validators를 순서대로 적용한다.
+     */
+    public BatchValidationResult validate(List<?> targets, String objectName, Validator... validators) {
+        List<BindingResult> bindingResults = new ArrayList<>(targets.size());
+        for (Object target : targets) {
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, objectName);
+            bindingResult.setMessageCodesResolver(messageCodesResolver);
+            bindingResults.add(bindingResult);
+        }
+        return validateBound(bindingResults, validators);
+    }
+
+    /**
+     * 이미 바인딩된 결과(타입 오류 등)에 이어서 검증한다.
+     */
+    public BatchValidationResult validateBound(List<? extends BindingResult> bindingResults, Validator... validators) {
+        return validate(bindingResults, new Object[0], validators);
+    }
+
+    /**
+     * Bean Validation을 mode로 검증한다. (CompiledValidator가 검증하는 클래스만 mode를 따른다)
+     */
+    public BatchValidationResult validateBound(List<? extends BindingResult> bindingResults, ValidationMode mode,
+                                               Validator... validators) {
+        return validate(bindingResults, new Object[]{mode}, validators);
+    }
+
+    private BatchValidationResult validate(List<? extends BindingResult> bindingResults, Object[] hints,
+                                           Validator[] validators) {
+        BindingResult[] failures = new BindingResult[bindingResults.size()];
+        if (!bindingResults.isEmpty()) {
+            pool.invoke(new ValidateTask(bindingResults, hints, validators, failures, 0, bindingResults.size()));
+        }
+        return new BatchValidationResult(failures);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private class ValidateTask extends RecursiveAction {
+
+        private final List<? extends BindingResult> bindingResults;
+        private final Object[] hints;
+        private final Validator[] validators;
+        private final BindingResult[] failures;
+        private final int from;
+        private final int to;
+
+        private ValidateTask(List<? extends BindingResult> bindingResults, Object[] hints, Validator[] validators,
+                             BindingResult[] failures, int from, int to) {
+            this.bindingResults = bindingResults;
+            this.hints = hints;
+            this.validators = validators;
+            this.failures = failures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ValidateTask(bindingResults, hints, validators, failures, from, middle),
+                        new ValidateTask(bindingResults, hints, validators, failures, middle, to));
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                BindingResult bindingResult = bindingResults.get(i);
+                Object target = bindingResult.getTarget();
+                ValidationUtils.invokeValidator(validator, target, bindingResult, hints);
+                for (Validator additional : validators) {
+                    ValidationUtils.invokeValidator(additional, target, bindingResult);
+                }
+                if (bindingResult.hasErrors()) {
+                    failures[i] = bindingResult;
+                }
+            }
+        }
+    }
+}
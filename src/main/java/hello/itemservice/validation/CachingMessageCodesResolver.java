@@ -0,0 +1,134 @@
+package hello.itemservice.validation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 번 만든 메시지 코드 배열을 (errorCode, objectName, field, fieldType) 별로 보관해서 재사용한다.
+ * 예) range, item, price, Integer -> {range.item.price, range.price, range.java.lang.Integer, range}
+ * 조회는 잠금 없이 ConcurrentHashMap에서 한다. 최대 maxSize 개까지 보관하고, 가득 찬 상태에서 새 항목을 넣을 때는 모두 비우고 다시 채운다.
+ * (코드 조합은 폼 필드와 오류 코드 수만큼이라 보통은 가득 차지 않는다)
+ * 보관한 배열은 복사해서 반환하므로 호출하는 쪽에서 수정해도 캐시는 바뀌지 않는다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver, MeterBinder {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final MessageCodesResolver delegate;
+    private final int maxSize;
+    private final Map<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingMessageCodesResolver() {
+        this(new DefaultMessageCodesResolver(), DEFAULT_MAX_SIZE);
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return resolve(new Key(errorCode, objectName, null, null));
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        return resolve(new Key(errorCode, objectName, field, fieldType));
+    }
+
+    /**
+     * 캐시 사용 수(message.codes.cache{result=hit|miss})와 보관 중인 항목 수를 기록한다.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("message.codes.cache", hits, LongAdder::sum)
+                .description("메시지 코드 캐시 조회 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("message.codes.cache", misses, LongAdder::sum)
+                .description("메시지 코드 캐시 조회 수")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("message.codes.cache.size", cache, Map::size)
+                .description("보관 중인 메시지 코드 목록 수")
+                .register(registry);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private String[] resolve(Key key) {
+        String[] codes = cache.get(key);
+        if (codes != null) {
+            hits.increment();
+            return codes.clone();
+        }
+
+        misses.increment();
+        codes = key.field == null
+                ? delegate.resolveMessageCodes(key.errorCode, key.objectName)
+                : delegate.resolveMessageCodes(key.errorCode, key.objectName, key.field, key.fieldType);
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+        cache.put(key, codes);
+        return codes.clone();
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        private Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.hash = Objects.hash(errorCode, objectName, field, fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(errorCode, key.errorCode) && Objects.equals(objectName, key.objectName)
+                    && Objects.equals(field, key.field) && fieldType == key.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+
+import javax.validation.groups.Default;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 등록한 클래스는 시작할 때 해석해 둔 제약 조건으로 검증하고, 그 밖의 클래스는 delegate(Bean Validation)에 맡긴다.
+ * 검증할 때 리플렉션이나 메타데이터 조회 없이 getter 함수와 비교식만 실행한다.
+ * 오류 코드, 메시지 인자, 기본 메시지는 Bean Validation(SpringValidatorAdapter)과 같다.
+ * ValidationMode에 따라 오류가 생기면 남은 제약 조건을 건너뛴다. (delegate가 검증하는 클래스는 항상 FULL)
+ * 검증 모드는 withMode()로 정하고, 호출마다 다르게 하려면 validationHints에 ValidationMode를 넘긴다.
+ */
+public class CompiledValidator implements SmartValidator {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    private final Validator delegate;
+    private final Map<Class<?>, List<FieldConstraint>> constraints;
+    private final ValidationMode mode;
+
+    public CompiledValidator(Validator delegate, Class<?>... types) {
+        this.delegate = delegate;
+        this.constraints = new ConcurrentHashMap<>();
+        this.mode = ValidationMode.FULL;
+        for (Class<?> type : types) {
+            List<FieldConstraint> compiled = ConstraintCompiler.compile(type);
+            if (compiled != null) {
+                constraints.put(type, compiled);
+            }
+        }
+    }
+
+    private CompiledValidator(CompiledValidator source, ValidationMode mode) {
+        this.delegate = source.delegate;
+        this.constraints = source.constraints;
+        this.mode = mode;
+    }
+
+    /**
+     * 해석해 둔 제약 조건을 공유하고 검증 모드만 다른 Validator를 반환한다.
+     */
+    public CompiledValidator withMode(ValidationMode mode) {
+        return mode == this.mode ? this : new CompiledValidator(this, mode);
+    }
+
+    /**
+     * 미리 해석한 클래스인지 확인한다. (아니면 delegate가 검증한다)
+     */
+    public boolean isCompiled(Class<?> type) {
+        return constraints.containsKey(type);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return constraints.containsKey(clazz) || delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, DEFAULT_GROUPS);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        List<FieldConstraint> compiled = constraints.get(target.getClass());
+        if (compiled == null) {
+            if (delegate instanceof SmartValidator) {
+                ((SmartValidator) delegate).validate(target, errors, validationHints);
+            } else {
+                delegate.validate(target, errors);
+            }
+            return;
+        }
+
+        Class<?>[] groups = groups(validationHints);
+        ValidationMode mode = mode(validationHints);
+        for (FieldConstraint constraint : compiled) {
+            if (constraint.appliesTo(groups) && !mode.skip(errors, constraint.getField())
+                    && !hasBindingFailure(errors, constraint.getField())) {
+                constraint.validate(target, errors);
+            }
+        }
+    }
+
+    /**
+     * SpringValidatorAdapter와 같이, 바인딩에 실패한 필드(typeMismatch 등)에는 제약 조건 오류를 추가하지 않는다.
+     */
+    private static boolean hasBindingFailure(Errors errors, String field) {
+        if (!errors.hasErrors()) {
+            return false;
+        }
+        FieldError fieldError = errors.getFieldError(field);
+        return fieldError != null && fieldError.isBindingFailure();
+    }
+
+    private ValidationMode mode(Object[] validationHints) {
+        for (Object hint : validationHints) {
+            if (hint instanceof ValidationMode) {
+                return (ValidationMode) hint;
+            }
+        }
+        return mode;
+    }
+
+    private static Class<?>[] groups(Object[] validationHints) {
+        if (validationHints.length == 0) {
+            return DEFAULT_GROUPS;
+        }
+        int count = 0;
+        Class<?>[] groups = new Class<?>[validationHints.length];
+        for (Object hint : validationHints) {
+            if (hint instanceof Class) {
+                groups[count++] = (Class<?>) hint;
+            }
+        }
+        if (count == 0) {
+            return DEFAULT_GROUPS;
+        }
+        return count == groups.length ? groups : Arrays.copyOf(groups, count);
+    }
+}
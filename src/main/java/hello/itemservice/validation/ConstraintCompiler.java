@@ -0,0 +1,192 @@
+package hello.itemservice.validation;
+
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 클래스의 Bean Validation 애노테이션을 읽어서 FieldConstraint 목록으로 바꾼다.
+ * 애플리케이션 시작 시 한 번만 리플렉션을 사용하고, 필드 값은 LambdaMetafactory로 만든 getter 함수로 읽는다.
+ * @NotNull, @NotBlank, @Range, @Min, @Max 만 지원하고, 그 밖의 제약 조건이나 @Valid, 클래스 레벨 제약 조건이
+ * 있으면 null을 반환한다. (Bean Validation으로 검증한다)
+ */
+final class ConstraintCompiler {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    private ConstraintCompiler() {
+    }
+
+    static List<FieldConstraint> compile(Class<?> type) {
+        if (hasConstraint(type.getAnnotations())) {
+            return null;
+        }
+
+        List<FieldConstraint> constraints = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.isAnnotationPresent(Valid.class)) {
+                    return null;
+                }
+
+                Function<Object, Object> getter = null;
+                for (Annotation annotation : field.getAnnotations()) {
+                    if (!annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                        continue;
+                    }
+
+                    Predicate<Object> check = check(annotation);
+                    if (check == null) {
+                        return null;
+                    }
+                    if (getter == null) {
+                        getter = getter(type, field);
+                    }
+                    constraints.add(new FieldConstraint(field.getName(), annotation.annotationType().getSimpleName(),
+                            getter, check, groups(annotation), attributes(annotation), message(annotation)));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private static boolean hasConstraint(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Predicate<Object> check(Annotation annotation) {
+        if (annotation instanceof NotNull) {
+            return value -> value != null;
+        }
+        if (annotation instanceof NotBlank) {
+            return value -> value != null && !value.toString().trim().isEmpty();
+        }
+        if (annotation instanceof Range) {
+            long min = ((Range) annotation).min();
+            long max = ((Range) annotation).max();
+            return value -> value == null || (compare(value, min) >= 0 && compare(value, max) <= 0);
+        }
+        if (annotation instanceof Min) {
+            long min = ((Min) annotation).value();
+            return value -> value == null || compare(value, min) >= 0;
+        }
+        if (annotation instanceof Max) {
+            long max = ((Max) annotation).value();
+            return value -> value == null || compare(value, max) <= 0;
+        }
+        return null;
+    }
+
+    private static int compare(Object value, long bound) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(BigDecimal.valueOf(bound));
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).compareTo(BigInteger.valueOf(bound));
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return Double.compare(((Number) value).doubleValue(), bound);
+        }
+        if (value instanceof Number) {
+            return Long.compare(((Number) value).longValue(), bound);
+        }
+        return new BigDecimal(value.toString()).compareTo(BigDecimal.valueOf(bound));
+    }
+
+    private static Class<?>[] groups(Annotation annotation) {
+        Class<?>[] groups = (Class<?>[]) attribute(annotation, "groups");
+        return groups.length == 0 ? DEFAULT_GROUPS : groups;
+    }
+
+    private static String message(Annotation annotation) {
+        return (String) attribute(annotation, "message");
+    }
+
+    /**
+     * message, groups, payload를 제외한 속성을 이름 순으로 (SpringValidatorAdapter와 같은 순서)
+     */
+    private static Map<String, Object> attributes(Annotation annotation) {
+        Map<String, Object> attributes = new TreeMap<>();
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            String name = method.getName();
+            if (method.getParameterCount() == 0 && !"message".equals(name) && !"groups".equals(name) && !"payload".equals(name)) {
+                attributes.put(name, attribute(annotation, name));
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("애노테이션 속성을 읽을 수 없습니다. " + annotation, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Class<?> type, Field field) {
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        Method method = findMethod(type, "get" + suffix);
+        if (method == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+            method = findMethod(type, "is" + suffix);
+        }
+        if (method == null) {
+            throw new IllegalStateException("getter가 없습니다. " + type.getName() + "." + field.getName());
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("getter 함수를 만들 수 없습니다. " + method, e);
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            return method.getReturnType() == void.class ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.validation;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.Errors;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 필드 하나에 붙은 제약 조건 하나를 미리 해석해 둔 것
+ * 오류 코드, 메시지 인자, 기본 메시지는 SpringValidatorAdapter가 만드는 것과 같다.
+ */
+final class FieldConstraint {
+
+    private static final String DEFAULT_BUNDLE = "org.hibernate.validator.ValidationMessages";
+    private static final String USER_BUNDLE = "ValidationMessages";
+
+    private final String field;
+    private final String code;
+    private final Function<Object, Object> getter;
+    private final Predicate<Object> check;
+    private final Class<?>[] groups;
+    private final Object[] attributeArguments;
+    private final String messageTemplate;
+    private final Map<String, Object> attributes;
+
+    private final Map<String, Object[]> argumentsByObjectName = new ConcurrentHashMap<>();
+    private final Map<Locale, String> messageByLocale = new ConcurrentHashMap<>();
+
+    FieldConstraint(String field, String code, Function<Object, Object> getter, Predicate<Object> check,
+                    Class<?>[] groups, Map<String, Object> attributes, String messageTemplate) {
+        this.field = field;
+        this.code = code;
+        this.getter = getter;
+        this.check = check;
+        this.groups = groups;
+        this.attributes = attributes;
+        this.attributeArguments = attributes.values().toArray();
+        this.messageTemplate = messageTemplate;
+    }
+
+    String getField() {
+        return field;
+    }
+
+    /**
+     * 요청한 그룹(없으면 Default)에 이 제약 조건이 속하는지 확인한다.
+     */
+    boolean appliesTo(Class<?>[] requestedGroups) {
+        for (Class<?> requested : requestedGroups) {
+            for (Class<?> group : groups) {
+                if (group.isAssignableFrom(requested)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 검증에 실패하면 errors에 오류를 추가하고 false를 반환한다.
+     */
+    boolean validate(Object target, Errors errors) {
+        if (check.test(getter.apply(target))) {
+            return true;
+        }
+        errors.rejectValue(field, code, arguments(errors.getObjectName()), defaultMessage(LocaleContextHolder.getLocale()));
+        return false;
+    }
+
+    /**
+     * [필드 이름, 애노테이션 속성 (이름 순)], 예) Range -> {item.price, max, min}
+     */
+    private Object[] arguments(String objectName) {
+        return argumentsByObjectName.computeIfAbsent(objectName, name -> {
+            Object[] arguments = new Object[attributeArguments.length + 1];
+            arguments[0] = new DefaultMessageSourceResolvable(new String[]{name + "." + field, field}, field);
+            System.arraycopy(attributeArguments, 0, arguments, 1, attributeArguments.length);
+            return arguments;
+        });
+    }
+
+    private String defaultMessage(Locale locale) {
+        return messageByLocale.computeIfAbsent(locale, this::interpolate);
+    }
+
+    private String interpolate(Locale locale) {
+        String message = messageTemplate;
+        if (message.startsWith("{") && message.endsWith("}")) {
+            String key = message.substring(1, message.length() - 1);
+            String resolved = lookup(USER_BUNDLE, key, locale);
+            if (resolved == null) {
+                resolved = lookup(DEFAULT_BUNDLE, key, locale);
+            }
+            if (resolved != null) {
+                message = resolved;
+            }
+        }
+
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            message = message.replace("{" + attribute.getKey() + "}", String.valueOf(attribute.getValue()));
+        }
+        return message;
+    }
+
+    private static String lookup(String baseName, String key, Locale locale) {
+        try {
+            ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale);
+            return bundle.containsKey(key) ? bundle.getString(key) : null;
+        } catch (MissingResourceException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package hello.itemservice.validation;
+
+/**
+ * 오류를 추가한 순서대로 오류 코드를 꺼낼 수 있는 Errors
+ * ObjectError 목록을 만들지 않고 오류 코드만 읽을 때 사용한다. (ValidationMetrics)
+ */
+public interface IndexedErrors {
+
+    int getErrorCount();
+
+    String getErrorCode(int index);
+}
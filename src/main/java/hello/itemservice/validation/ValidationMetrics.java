@@ -0,0 +1,123 @@
+package hello.itemservice.validation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validator를 감싸서 검증 시간(validation{validator=...})과 오류 코드별 개수(validation.errors{validator, code})를 기록한다.
+ * 감싼 Validator와 자주 나오는 오류 코드의 카운터는 미리 만들어 두고 재사용한다.
+ * 분위수 히스토그램은 management.metrics.distribution.percentiles-histogram.validation=true 로 켠다.
+ */
+@Component
+public class ValidationMetrics {
+
+    private static final String[] KNOWN_CODES = {
+            "NotBlank", "NotNull", "Range", "Max", "Min", "typeMismatch",
+            "required", "range", "max", "min", "totalPriceMin", "malformedRow"};
+    private static final int MAX_CODES = 200;
+
+    private final MeterRegistry registry;
+    private final Map<String, TimedValidator> validators = new ConcurrentHashMap<>();
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * name 으로 기록하는 Validator를 반환한다. 같은 이름은 처음 감싼 Validator를 재사용한다.
+     */
+    public Validator timed(String name, Validator validator) {
+        return validators.computeIfAbsent(name, key -> new TimedValidator(key, validator));
+    }
+
+    private final class TimedValidator implements SmartValidator {
+
+        private final String name;
+        private final Validator delegate;
+        private final Timer timer;
+        private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+        private TimedValidator(String name, Validator delegate) {
+            this.name = name;
+            this.delegate = delegate;
+            this.timer = Timer.builder("validation")
+                    .description("검증 시간")
+                    .tag("validator", name)
+                    .register(registry);
+            for (String code : KNOWN_CODES) {
+                errorCounter(code);
+            }
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            validate(target, errors, (Object[]) null);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            int before = errors.getErrorCount();
+            long start = System.nanoTime();
+            try {
+                if (validationHints != null && delegate instanceof SmartValidator) {
+                    ((SmartValidator) delegate).validate(target, errors, validationHints);
+                } else {
+                    delegate.validate(target, errors);
+                }
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            if (errors.getErrorCount() > before) {
+                countErrors(errors, before);
+            }
+        }
+
+        /**
+         * before 번째 이후에 추가된 오류를 센다. (BindingResult는 오류를 추가한 순서대로 보관한다)
+         */
+        private void countErrors(Errors errors, int before) {
+            if (errors instanceof IndexedErrors) {
+                IndexedErrors indexedErrors = (IndexedErrors) errors;
+                for (int i = before; i < indexedErrors.getErrorCount(); i++) {
+                    errorCounter(indexedErrors.getErrorCode(i)).increment();
+                }
+                return;
+            }
+
+            List<ObjectError> allErrors = errors.getAllErrors();
+            for (int i = before; i < allErrors.size(); i++) {
+                errorCounter(allErrors.get(i).getCode()).increment();
+            }
+        }
+
+        private Counter errorCounter(String code) {
+            Counter counter = errorCounters.get(code);
+            if (counter == null) {
+                String tag = errorCounters.size() < MAX_CODES ? code : "other";
+                counter = errorCounters.computeIfAbsent(tag, key -> Counter.builder("validation.errors")
+                        .description("오류 코드별 검증 오류 수")
+                        .tag("validator", name)
+                        .tag("code", key)
+                        .register(registry));
+            }
+            return counter;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+
+/**
+ * 검증을 어디까지 할지 정한다.
+ * FULL: 모든 제약 조건을 검증한다. (폼 화면처럼 오류를 한 번에 모두 보여줄 때)
+ * FAIL_FAST: 객체에 오류가 하나라도 생기면 나머지 검증을 하지 않는다.
+ * FAIL_FAST_PER_FIELD: 필드마다 첫 번째 오류까지만 검증한다. 조합 검증은 관련 필드에 오류가 없을 때만 한다.
+ */
+public enum ValidationMode {
+
+    FULL, FAIL_FAST, FAIL_FAST_PER_FIELD;
+
+    /**
+     * field 검증을 건너뛰어도 되는지 확인한다. (바인딩 오류도 포함)
+     */
+    public boolean skip(Errors errors, String field) {
+        switch (this) {
+            case FAIL_FAST:
+                return errors.hasErrors();
+            case FAIL_FAST_PER_FIELD:
+                return errors.hasFieldErrors(field);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * fields 를 조합한 검증(예: 가격 * 수량)을 건너뛰어도 되는지 확인한다.
+     */
+    public boolean skipCombination(Errors errors, String... fields) {
+        switch (this) {
+            case FAIL_FAST:
+                return errors.hasErrors();
+            case FAIL_FAST_PER_FIELD:
+                for (String field : fields) {
+                    if (errors.hasFieldErrors(field)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+}
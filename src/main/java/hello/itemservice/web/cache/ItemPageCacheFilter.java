@@ -0,0 +1,157 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 목록/상세 화면(/validation/v1~v4/items, /validation/v1~v4/items/{id})의 렌더링 결과를 캐시한다.
+ * (URI, 쿼리, 로케일) 별로 저장하고, 저장할 때의 저장소 버전이 현재 버전과 같을 때만 사용한다.
+ * 저장/수정이 일어나면 저장소 버전이 바뀌므로 이전 결과는 더 이상 사용하지 않는다.
+ *
+ * ETag/Last-Modified는 컨트롤러가 상품 버전으로 만든 값을 저장해 두었다가 그대로 다시 보낸다.
+ * 캐시된 화면의 ETag와 If-None-Match가 같으면 컨트롤러를 거치지 않고 304로 응답하고,
+ * 캐시에 없으면 조건부 요청 처리는 컨트롤러(WebRequest#checkNotModified)에 맡긴다.
+ */
+public class ItemPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE = Pattern.compile("^/validation/v[1-4]/items(/\\d+)?$");
+
+    private final ItemRepository itemRepository;
+    private final int maxEntries;
+    private final Map<Key, Page> pages = new ConcurrentHashMap<>();
+
+    public ItemPageCacheFilter(ItemRepository itemRepository, int maxEntries) {
+        this.itemRepository = itemRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !CACHEABLE.matcher(pathWithinApplication(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long version = itemRepository.getVersion();
+        Locale locale = request.getLocale();
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        Key key = new Key(pathWithinApplication(request), request.getQueryString(), locale);
+        Page page = pages.get(key);
+        if (page != null && page.version == version) {
+            page.writeValidators(response);
+            if (page.eTag != null && page.eTag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            response.setContentType(page.contentType);
+            response.setContentLength(page.body.length);
+            response.getOutputStream().write(page.body);
+            return;
+        }
+
+        // 렌더링 전에 읽은 버전으로 저장한다. 렌더링 중에 쓰기가 있었다면 이 결과는 다음 요청에서 사용되지 않는다.
+        // 컨트롤러가 304로 응답한 경우에는 본문이 없으므로 저장하지 않는다.
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && isHtml(wrapper.getContentType())) {
+                store(key, new Page(version, wrapper.getContentType(), wrapper.getContentAsByteArray(),
+                        wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.LAST_MODIFIED)));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void store(Key key, Page page) {
+        if (pages.size() >= maxEntries && !pages.containsKey(key)) {
+            pages.values().removeIf(cached -> cached.version != page.version);
+            if (pages.size() >= maxEntries) {
+                return;
+            }
+        }
+        pages.put(key, page);
+    }
+
+    private static boolean isHtml(String contentType) {
+        return contentType != null && contentType.startsWith("text/html");
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static final class Key {
+
+        private final String path;
+        private final String query;
+        private final Locale locale;
+
+        private Key(String path, String query, Locale locale) {
+            this.path = path;
+            this.query = query;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return path.equals(key.path) && Objects.equals(query, key.query) && locale.equals(key.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, query, locale);
+        }
+    }
+
+    private static final class Page {
+
+        private final long version;
+        private final String contentType;
+        private final byte[] body;
+        private final String eTag;
+        private final String lastModified;
+
+        private Page(long version, String contentType, byte[] body, String eTag, String lastModified) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        private void writeValidators(HttpServletResponse response) {
+            if (eTag != null) {
+                response.setHeader(HttpHeaders.ETAG, eTag);
+            }
+            if (lastModified != null) {
+                response.setHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+
+import java.util.Locale;
+
+/**
+ * 상품 화면의 ETag, 화면 메시지가 로케일마다 다르므로 로케일을 포함한다.
+ */
+final class ItemETags {
+
+    private ItemETags() {
+    }
+
+    /**
+     * 상품 상세: 상품 id와 상품 버전
+     */
+    static String item(Item item, Locale locale) {
+        return "\"item-" + item.getId() + "-" + item.getVersion() + "-" + locale.toLanguageTag() + "\"";
+    }
+
+    /**
+     * 상품 목록: 저장소 버전 (어떤 상품이든 저장/수정되면 바뀐다)
+     */
+    static String items(long repositoryVersion, Locale locale) {
+        return "\"items-" + repositoryVersion + "-" + locale.toLanguageTag() + "\"";
+    }
+}
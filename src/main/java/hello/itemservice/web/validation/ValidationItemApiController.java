@@ -1,28 +1,68 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.ValidationMetrics;
+import hello.itemservice.validation.ValidationMode;
+import hello.itemservice.web.validation.api.ApiErrorFormat;
+import hello.itemservice.web.validation.api.ApiErrorResponse;
+import hello.itemservice.web.validation.api.ApiErrors;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.validation.BindingResult;
-import org.springframework.validation.annotation.Validated;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Locale;
 
+
+/**
+ * BindingResult 대신 풀에서 빌린 ApiErrors에 직접 검증하고,
+ * 오류는 ApiErrorResponse로 응답한다. (validation.api.error-format=CODE 이면 메시지 없이 코드만)
+ */
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
 public class ValidationItemApiController {
 
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ApiErrorFormat errorFormat;
+
+    /**
+     * API는 오류를 모두 보여줄 필요가 없으므로 validation.api.mode 로 검증 범위를 줄일 수 있다.
+     */
+    public ValidationItemApiController(CompiledValidator compiledValidator,
+                                       @Value("${validation.api.mode:FULL}") ValidationMode mode,
+                                       MessageSource messageSource,
+                                       MessageCodesResolver messageCodesResolver,
+                                       @Value("${validation.api.error-format:MESSAGE}") ApiErrorFormat errorFormat,
+                                       ValidationMetrics validationMetrics) {
+        this.validator = validationMetrics.timed("api", compiledValidator.withMode(mode));
+        this.messageSource = messageSource;
+        this.messageCodesResolver = messageCodesResolver;
+        this.errorFormat = errorFormat;
+    }
+
     @PostMapping("/add")
-    public Object addItem(@RequestBody @Validated ItemSaveForm itemSaveForm, BindingResult bindingResult) {
+    public Object addItem(@RequestBody ItemSaveForm itemSaveForm, Locale locale) {
 
         log.info("API 컨트롤러 호출");
 
-        if (bindingResult.hasErrors()) {
-            log.info("검증 오류 발생={}", bindingResult);
-            return bindingResult.getAllErrors();
+        try (ApiErrors errors = ApiErrors.acquire(itemSaveForm, "itemSaveForm")) {
+            validator.validate(itemSaveForm, errors);
+
+            if (errors.hasErrors()) {
+                log.info("검증 오류 발생={}", errors);
+                return new ApiErrorResponse(errorFormat == ApiErrorFormat.CODE
+                        ? errors.toApiErrors()
+                        : errors.toApiErrors(messageSource, messageCodesResolver, locale));
+            }
         }
 
         log.info("API 성공");
@@ -0,0 +1,186 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.validation.BatchValidator;
+import hello.itemservice.validation.ValidationMode;
+import hello.itemservice.web.validation.bulk.ItemRowReader;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 대량 등록 API
+ * 요청 본문(NDJSON 또는 CSV)을 한 행씩 읽어서 ItemSaveForm에 바인딩하고,
+ * BATCH_SIZE 개씩 모아서 병렬로 검증한 뒤 성공한 행을 한 번에 저장한다. 실패한 행의 오류는 묶음마다 바로 NDJSON으로 응답한다.
+ * {"line":3,"errors":[{"field":"price","code":"Range","message":"..."}]}
+ * 마지막 줄은 {"imported":998,"rejected":2}
+ * validation.bulk.mode 로 검증 범위를 줄일 수 있다. 조합 검증(totalPriceMin)도 모드에 따라 건너뛴다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items")
+public class ValidationItemBulkApiController {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final BatchValidator batchValidator;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ValidationMode mode;
+
+    public ValidationItemBulkApiController(ItemRepository itemRepository,
+                                           BatchValidator batchValidator,
+                                           MessageSource messageSource,
+                                           ObjectMapper objectMapper,
+                                           MessageCodesResolver messageCodesResolver,
+                                           @Value("${validation.bulk.mode:FULL}") ValidationMode mode) {
+        this.itemRepository = itemRepository;
+        this.batchValidator = batchValidator;
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        this.messageCodesResolver = messageCodesResolver;
+        this.mode = mode;
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public void addItems(HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+
+        ItemRowReader rowReader = ItemRowReader.create(request.getContentType(), request.getReader(), objectMapper);
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        List<BindingResult> chunk = new ArrayList<>(BATCH_SIZE);
+        List<Integer> lines = new ArrayList<>(BATCH_SIZE);
+        int[] counts = new int[2]; // imported, rejected
+
+        while (true) {
+            // 1. 한 행을 읽어서 ItemSaveForm에 바인딩한다. (@ModelAttribute와 같은 타입 오류 코드)
+            MutablePropertyValues values;
+            try {
+                values = rowReader.next();
+            } catch (JsonProcessingException e) {
+                BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "item");
+                bindingResult.setMessageCodesResolver(messageCodesResolver);
+                bindingResult.reject("malformedRow");
+                writeErrors(generator, rowReader.getLineNumber(), bindingResult, locale);
+                counts[1]++;
+                continue;
+            }
+            if (values == null) {
+                break;
+            }
+
+            DataBinder dataBinder = new DataBinder(new ItemSaveForm(), "item");
+            dataBinder.setMessageCodesResolver(messageCodesResolver);
+            dataBinder.bind(values);
+            chunk.add(dataBinder.getBindingResult());
+            lines.add(rowReader.getLineNumber());
+
+            // 2. BATCH_SIZE 개씩 모아서 병렬로 검증하고 저장한다.
+            if (chunk.size() == BATCH_SIZE) {
+                processChunk(chunk, lines, generator, locale, counts);
+                generator.flush();
+            }
+        }
+        processChunk(chunk, lines, generator, locale, counts);
+
+        generator.writeStartObject();
+        generator.writeNumberField("imported", counts[0]);
+        generator.writeNumberField("rejected", counts[1]);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.close();
+
+        log.info("대량 등록 완료 imported={}, rejected={}", counts[0], counts[1]);
+    }
+
+    private void processChunk(List<BindingResult> chunk, List<Integer> lines, JsonGenerator generator,
+                              Locale locale, int[] counts) throws IOException {
+        batchValidator.validateBound(chunk, mode);
+
+        List<Item> items = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BindingResult bindingResult = chunk.get(i);
+            ItemSaveForm itemSaveForm = (ItemSaveForm) bindingResult.getTarget();
+
+            Integer price = itemSaveForm.getPrice();
+            Integer quantity = itemSaveForm.getQuantity();
+
+            if (price != null && quantity != null && !mode.skipCombination(bindingResult, "price", "quantity")) {
+                int resultPrice = price * quantity;
+                if (resultPrice < 10000) {
+                    bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+                }
+            }
+
+            // 3. 검증에 실패한 행은 오류를 응답하고, 성공한 행만 저장한다.
+            if (bindingResult.hasErrors()) {
+                writeErrors(generator, lines.get(i), bindingResult, locale);
+                counts[1]++;
+                continue;
+            }
+            items.add(new Item(itemSaveForm.getItemName(), price, quantity));
+        }
+
+        if (!items.isEmpty()) {
+            itemRepository.saveAll(items);
+            counts[0] += items.size();
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void writeErrors(JsonGenerator generator, int line, BindingResult bindingResult, Locale locale) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", line);
+        generator.writeArrayFieldStart("errors");
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            generator.writeStartObject();
+            if (error instanceof FieldError) {
+                generator.writeStringField("field", ((FieldError) error).getField());
+            }
+            generator.writeStringField("code", error.getCode());
+            generator.writeStringField("message", resolveMessage(error, locale));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private String resolveMessage(ObjectError error, Locale locale) {
+        try {
+            return messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            return error.getCode();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -11,10 +13,13 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Slf4j
@@ -26,15 +31,32 @@ public class ValidationItemControllerV1 {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        Model model, WebRequest webRequest, Locale locale) {
+        if (webRequest.checkNotModified(ItemETags.items(itemRepository.getVersion(), locale))) {
+            return null;
+        }
+
+        List<Item> items = itemRepository.findAfter(cursor, size);
         model.addAttribute("items", items);
+        model.addAttribute("pageSize", size);
+
+        if (!items.isEmpty()) {
+            Long lastId = items.get(items.size() - 1).getId();
+            if (itemRepository.hasAfter(lastId)) {
+                model.addAttribute("nextCursor", lastId);
+            }
+        }
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, WebRequest webRequest, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && webRequest.checkNotModified(ItemETags.item(item, locale), item.getLastModified())) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
@@ -97,8 +119,19 @@ public class ValidationItemControllerV1 {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, Model model) {
+        UpdateResult result = itemRepository.update(itemId, item);
+        if (result == UpdateResult.NOT_FOUND) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다. itemId=" + itemId);
+        }
+        if (result == UpdateResult.CONFLICT) {
+            //다른 사용자가 먼저 수정했다. 입력 값은 그대로 두고 버전만 최신으로 바꿔서 다시 저장할 수 있게 한다.
+            Map<String, String> errors = new HashMap<>();
+            errors.put("globalError", "다른 사용자가 먼저 상품을 수정했습니다. 확인 후 다시 저장해주세요.");
+            item.setVersion(itemRepository.findById(itemId).getVersion());
+            model.addAttribute("errors", errors);
+            return "validation/v1/editForm";
+        }
         return "redirect:/validation/v1/items/{itemId}";
     }
 }
@@ -2,8 +2,11 @@ package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.UpdateResult;
+import hello.itemservice.validation.ValidationMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -13,10 +16,13 @@ import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Slf4j
@@ -27,22 +33,40 @@ public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
+    private final ValidationMetrics validationMetrics;
 
     @InitBinder
     public void init(WebDataBinder webDataBinder) {
-        webDataBinder.addValidators(itemValidator);
+        webDataBinder.addValidators(validationMetrics.timed("itemValidator", itemValidator));
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        Model model, WebRequest webRequest, Locale locale) {
+        if (webRequest.checkNotModified(ItemETags.items(itemRepository.getVersion(), locale))) {
+            return null;
+        }
+
+        List<Item> items = itemRepository.findAfter(cursor, size);
         model.addAttribute("items", items);
+        model.addAttribute("pageSize", size);
+
+        if (!items.isEmpty()) {
+            Long lastId = items.get(items.size() - 1).getId();
+            if (itemRepository.hasAfter(lastId)) {
+                model.addAttribute("nextCursor", lastId);
+            }
+        }
         return "validation/v2/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, WebRequest webRequest, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && webRequest.checkNotModified(ItemETags.item(item, locale), item.getLastModified())) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v2/item";
     }
@@ -355,8 +379,23 @@ public class ValidationItemControllerV2 {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, BindingResult bindingResult) {
+
+        if (bindingResult.hasErrors()) {
+            log.info("errors={}", bindingResult);
+            return "validation/v2/editForm";
+        }
+
+        UpdateResult result = itemRepository.update(itemId, item);
+        if (result == UpdateResult.NOT_FOUND) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다. itemId=" + itemId);
+        }
+        if (result == UpdateResult.CONFLICT) {
+            bindingResult.reject("versionConflict");
+            item.setVersion(itemRepository.findById(itemId).getVersion());
+            log.info("errors={}", bindingResult);
+            return "validation/v2/editForm";
+        }
         return "redirect:/validation/v2/items/{itemId}";
     }
 
@@ -4,18 +4,23 @@ import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.domain.item.UpdateResult;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Controller
@@ -26,15 +31,32 @@ public class ValidationItemControllerV4 {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        Model model, WebRequest webRequest, Locale locale) {
+        if (webRequest.checkNotModified(ItemETags.items(itemRepository.getVersion(), locale))) {
+            return null;
+        }
+
+        List<Item> items = itemRepository.findAfter(cursor, size);
         model.addAttribute("items", items);
+        model.addAttribute("pageSize", size);
+
+        if (!items.isEmpty()) {
+            Long lastId = items.get(items.size() - 1).getId();
+            if (itemRepository.hasAfter(lastId)) {
+                model.addAttribute("nextCursor", lastId);
+            }
+        }
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, WebRequest webRequest, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && webRequest.checkNotModified(ItemETags.item(item, locale), item.getLastModified())) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -95,6 +117,7 @@ public class ValidationItemControllerV4 {
         itemUpdateForm.setItemName(item.getItemName());
         itemUpdateForm.setPrice(item.getPrice());
         itemUpdateForm.setQuantity(item.getQuantity());
+        itemUpdateForm.setVersion(item.getVersion());
 
         model.addAttribute("item", itemUpdateForm);
         return "validation/v4/editForm";
@@ -118,7 +141,16 @@ public class ValidationItemControllerV4 {
             return "validation/v4/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        UpdateResult result = itemRepository.update(itemId, item);
+        if (result == UpdateResult.NOT_FOUND) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다. itemId=" + itemId);
+        }
+        if (result == UpdateResult.CONFLICT) {
+            bindingResult.reject("versionConflict");
+            item.setVersion(itemRepository.findById(itemId).getVersion());
+            log.info("errors={}", bindingResult);
+            return "validation/v4/editForm";
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 
@@ -150,8 +182,18 @@ public class ValidationItemControllerV4 {
         updateItemParam.setItemName(itemName);
         updateItemParam.setPrice(price);
         updateItemParam.setQuantity(quantity);
+        updateItemParam.setVersion(itemUpdateForm.getVersion());
 
-        itemRepository.update(itemId, updateItemParam);
+        UpdateResult result = itemRepository.update(itemId, updateItemParam);
+        if (result == UpdateResult.NOT_FOUND) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다. itemId=" + itemId);
+        }
+        if (result == UpdateResult.CONFLICT) {
+            bindingResult.reject("versionConflict");
+            itemUpdateForm.setVersion(itemRepository.findById(itemId).getVersion());
+            log.info("errors={}", bindingResult);
+            return "validation/v4/editForm";
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 }
@@ -0,0 +1,212 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * 상품 조회 API (목록/상세/검색)
+ * 목록과 검색은 저장소 반복자에서 하나씩 꺼내서 JsonGenerator로 바로 쓰므로 List<Item>을 만들지 않는다.
+ * Accept: application/x-ndjson 이면 한 줄에 상품 하나씩, 아니면 JSON 객체로 응답한다.
+ * {"items":[{"id":1,...},...],"nextCursor":100,"truncated":false}   (검색은 "nextOffset")
+ * 다음 페이지가 없으면 nextCursor/nextOffset은 null 이다. NDJSON은 마지막 상품의 id(검색은 받은 개수)로 다음 페이지를 요청한다.
+ * 검색은 offset 개를 매번 처음부터 건너뛰므로 MAX_SEARCH_OFFSET 까지만 넘길 수 있다. 더 뒤는 조건을 좁혀서 검색한다.
+ * 조건에 맞지 않는 상품도 인덱스에서 꺼내야 하므로 요청 하나가 꺼내는 상품은 MAX_SCAN_SIZE 개까지다.
+ * 그 전에 끝까지 찾지 못하면 찾은 상품까지만 응답하고 truncated를 true로 알려준다. (조건을 좁혀서 다시 검색한다)
+ */
+@RestController
+@RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
+public class ValidationItemQueryApiController {
+
+    /**
+     * 한 번에 응답하는 최대 상품 수
+     * 목록을 만들지 않고 바로 쓰므로 ItemRepository.MAX_PAGE_SIZE 보다 크게 잡는다.
+     * 응답 하나가 요청 스레드와 저장소 반복자를 붙잡는 시간을 제한한다.
+     */
+    public static final int MAX_STREAM_SIZE = 10000;
+
+    /**
+     * 검색에서 건너뛸 수 있는 최대 상품 수, 건너뛰는 상품도 인덱스에서 하나씩 꺼내므로 요청 비용이 offset에 비례한다.
+     */
+    public static final int MAX_SEARCH_OFFSET = 10000;
+
+    /**
+     * 요청 하나가 저장소 반복자에서 꺼내는 최대 상품 수 (건너뛴 상품, 조건에 맞지 않는 상품 포함)
+     * 조건에 맞는 상품만 있다면 MAX_SEARCH_OFFSET + MAX_STREAM_SIZE 까지는 끝까지 응답할 수 있게 잡는다.
+     */
+    public static final int MAX_SCAN_SIZE = 50000;
+
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * cursor(마지막으로 받은 상품 id) 다음부터 size 개를 id 순서로 응답한다.
+     */
+    @GetMapping
+    public void items(@RequestParam(required = false) Long cursor,
+                      @RequestParam(defaultValue = "100") int size,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeItems(itemRepository.iterateAfter(cursor), item -> true, 0, size, true, request, response);
+    }
+
+    @GetMapping("/{itemId}")
+    public ResponseEntity<Item> item(@PathVariable long itemId) {
+        Item item = itemRepository.findById(itemId);
+        if (item == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(item);
+    }
+
+    /**
+     * itemName(정확히 일치), itemNamePrefix(접두어), minPrice/maxPrice(가격 범위) 중 하나 이상으로 검색한다.
+     * 앞의 조건부터 인덱스로 찾고, 나머지 조건은 꺼낸 상품에 대해 확인한다.
+     */
+    @GetMapping("/search")
+    public void search(@RequestParam(required = false) String itemName,
+                       @RequestParam(required = false) String itemNamePrefix,
+                       @RequestParam(required = false) Integer minPrice,
+                       @RequestParam(required = false) Integer maxPrice,
+                       @RequestParam(defaultValue = "0") int offset,
+                       @RequestParam(defaultValue = "100") int size,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        int min = minPrice != null ? minPrice : Integer.MIN_VALUE;
+        int max = maxPrice != null ? maxPrice : Integer.MAX_VALUE;
+        boolean priceRange = minPrice != null || maxPrice != null;
+
+        Iterator<Item> items;
+        if (itemName != null) {
+            items = itemRepository.iterateByItemName(itemName);
+        } else if (itemNamePrefix != null) {
+            items = itemRepository.iterateByItemNameStartingWith(itemNamePrefix);
+        } else if (priceRange) {
+            items = itemRepository.iterateByPriceBetween(min, max);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "itemName, itemNamePrefix, minPrice, maxPrice 중 하나는 필요합니다.");
+        }
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset은 " + MAX_SEARCH_OFFSET + " 이하여야 합니다. 검색 조건을 좁혀 주세요.");
+        }
+
+        Predicate<Item> filter = item ->
+                (itemNamePrefix == null || item.getItemName() != null && item.getItemName().startsWith(itemNamePrefix))
+                        && (!priceRange || item.getPrice() != null && item.getPrice() >= min && item.getPrice() <= max);
+
+        writeItems(items, filter, Math.max(offset, 0), size, false, request, response);
+    }
+
+    /**
+     * cursorPaging이면 다음 페이지를 마지막 상품 id(nextCursor)로, 아니면 건너뛸 개수(nextOffset)로 알려준다.
+     * nextOffset이 MAX_SEARCH_OFFSET을 넘으면 더 넘길 수 없으므로 null로 응답한다.
+     * 다음 페이지는 조건에 맞는 상품을 하나 더 찾은 경우에만 알려준다.
+     */
+    private void writeItems(Iterator<Item> items, Predicate<Item> filter, int offset, int size, boolean cursorPaging,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = Math.min(Math.max(size, 1), MAX_STREAM_SIZE);
+        boolean ndjson = acceptsNdjson(request);
+
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+
+        if (ndjson) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+        }
+
+        int scanned = 0;
+        int skipped = 0;
+        int written = 0;
+        Item last = null;
+        while (written < limit && scanned < MAX_SCAN_SIZE && items.hasNext()) {
+            Item item = items.next();
+            scanned++;
+            if (!filter.test(item)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            writeItem(generator, item);
+            last = item;
+            written++;
+        }
+
+        // 다음 페이지가 있는지는 조건에 맞는 상품을 하나 더 찾아 봐야 알 수 있다.
+        boolean hasNext = false;
+        while (!hasNext && scanned < MAX_SCAN_SIZE && items.hasNext()) {
+            scanned++;
+            hasNext = filter.test(items.next());
+        }
+        boolean truncated = !hasNext && scanned >= MAX_SCAN_SIZE && items.hasNext();
+
+        if (ndjson) {
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        } else {
+            generator.writeEndArray();
+            String nextField = cursorPaging ? "nextCursor" : "nextOffset";
+            if (last != null && hasNext && (cursorPaging || offset + written <= MAX_SEARCH_OFFSET)) {
+                generator.writeNumberField(nextField, cursorPaging ? last.getId() : offset + written);
+            } else {
+                generator.writeNullField(nextField);
+            }
+            generator.writeBooleanField("truncated", truncated);
+            generator.writeEndObject();
+        }
+        generator.close();
+    }
+
+    private static void writeItem(JsonGenerator generator, Item item) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", item.getId());
+        generator.writeStringField("itemName", item.getItemName());
+        writeNumberField(generator, "price", item.getPrice());
+        writeNumberField(generator, "quantity", item.getQuantity());
+        writeNumberField(generator, "version", item.getVersion());
+        writeNumberField(generator, "lastModified", item.getLastModified());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    private static boolean acceptsNdjson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+}
@@ -0,0 +1,16 @@
+package hello.itemservice.web.validation.api;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API 오류 응답 한 건, 글로벌 오류는 field가 null이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ApiError {
+
+    private final String field;
+    private final String code;
+    private final String message;
+}
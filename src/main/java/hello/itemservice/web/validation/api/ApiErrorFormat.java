@@ -0,0 +1,11 @@
+package hello.itemservice.web.validation.api;
+
+/**
+ * API 오류 응답 형식 (validation.api.error-format)
+ * MESSAGE: field, code, message
+ * CODE: field, code (메시지를 찾지 않는다, 메시지는 클라이언트가 코드로 처리한다)
+ */
+public enum ApiErrorFormat {
+
+    MESSAGE, CODE
+}
@@ -0,0 +1,17 @@
+package hello.itemservice.web.validation.api;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * API 검증 실패 응답, ApiErrorResponseConverter가 JSON으로 바로 기록한다.
+ * {"errors":[{"field":"price","code":"Range","message":"..."}]}
+ */
+@Getter
+@RequiredArgsConstructor
+public class ApiErrorResponse {
+
+    private final List<ApiError> errors;
+}
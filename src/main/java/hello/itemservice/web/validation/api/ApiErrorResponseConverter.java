@@ -0,0 +1,62 @@
+package hello.itemservice.web.validation.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * ApiErrorResponse를 JsonGenerator로 응답에 바로 기록한다.
+ * 리플렉션 없이 필요한 필드만 쓰고, 값이 없는 field(글로벌 오류)와 message(CODE 형식)는 생략한다.
+ */
+public class ApiErrorResponseConverter extends AbstractHttpMessageConverter<ApiErrorResponse> {
+
+    private final JsonFactory jsonFactory;
+
+    public ApiErrorResponseConverter(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiErrorResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiErrorResponse readInternal(Class<? extends ApiErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiErrorResponse는 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiErrorResponse response, HttpOutputMessage outputMessage) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("errors");
+        for (ApiError error : response.getErrors()) {
+            generator.writeStartObject();
+            if (error.getField() != null) {
+                generator.writeStringField("field", error.getField());
+            }
+            generator.writeStringField("code", error.getCode());
+            if (error.getMessage() != null) {
+                generator.writeStringField("message", error.getMessage());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush(); // 응답 스트림은 닫지 않는다
+    }
+}
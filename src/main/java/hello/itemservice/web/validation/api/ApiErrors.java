@@ -0,0 +1,268 @@
+package hello.itemservice.web.validation.api;
+
+import hello.itemservice.validation.IndexedErrors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.AbstractErrors;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON API 전용 가벼운 Errors 구현
+ * 오류를 FieldError 객체 대신 배열에 (field, code, 인자, 기본 메시지)로만 쌓고, 배열은 요청마다 작은 풀에서 빌려 쓴다.
+ * 응답으로는 ApiError 목록만 만든다. (메시지 코드 목록, 인자는 응답하지 않는다)
+ *
+ * acquire()로 얻은 객체는 요청이 끝나면 close()로 돌려준다. (try-with-resources)
+ * 돌려줄 때 target과 인자를 비우므로 요청이 끝난 뒤 검증 대상을 붙잡고 있지 않는다.
+ * 풀은 스레드와 상관없이 공유하므로 요청마다 새 스레드를 쓰는 가상 스레드에서도 재사용된다.
+ */
+public class ApiErrors extends AbstractErrors implements IndexedErrors, AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAX_RETAINED_CAPACITY = 64;
+    private static final int MAX_POOLED = 256;
+
+    private static final ConcurrentLinkedDeque<ApiErrors> POOL = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private Object target;
+    private String objectName;
+
+    private String[] fields = new String[INITIAL_CAPACITY];
+    private String[] codes = new String[INITIAL_CAPACITY];
+    private Object[][] arguments = new Object[INITIAL_CAPACITY][];
+    private String[] defaultMessages = new String[INITIAL_CAPACITY];
+    private int size;
+    private boolean inUse;
+
+    private ApiErrors() {
+    }
+
+    /**
+     * 풀에서 ApiErrors를 빌려 target 검증용으로 준비한다. 풀이 비어 있으면 새로 만든다.
+     */
+    public static ApiErrors acquire(Object target, String objectName) {
+        ApiErrors errors = POOL.pollFirst();
+        if (errors == null) {
+            errors = new ApiErrors();
+        } else {
+            POOLED.decrementAndGet();
+        }
+        errors.target = target;
+        errors.objectName = objectName;
+        errors.inUse = true;
+        return errors;
+    }
+
+    /**
+     * 오류와 target을 비우고 풀에 돌려준다. 풀이 가득 차 있으면 버린다.
+     */
+    @Override
+    public void close() {
+        if (!inUse) {
+            return;
+        }
+        clear();
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offerFirst(this);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+
+    @Override
+    public String getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public void reject(String errorCode, Object[] errorArgs, String defaultMessage) {
+        add(null, errorCode, errorArgs, defaultMessage);
+    }
+
+    @Override
+    public void rejectValue(String field, String errorCode, Object[] errorArgs, String defaultMessage) {
+        add(field == null || field.isEmpty() ? null : fixedField(field), errorCode, errorArgs, defaultMessage);
+    }
+
+    @Override
+    public void addAllErrors(Errors errors) {
+        for (ObjectError error : errors.getAllErrors()) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+            add(field, error.getCode(), error.getArguments(), error.getDefaultMessage());
+        }
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return size > 0;
+    }
+
+    @Override
+    public int getErrorCount() {
+        return size;
+    }
+
+    @Override
+    public String getErrorCode(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+        return codes[index];
+    }
+
+    @Override
+    public boolean hasGlobalErrors() {
+        for (int i = 0; i < size; i++) {
+            if (fields[i] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasFieldErrors(String field) {
+        String fixedField = fixedField(field);
+        for (int i = 0; i < size; i++) {
+            if (fixedField.equals(fields[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Errors 규약을 위해 제공한다. 호출할 때마다 ObjectError를 새로 만든다.
+     */
+    @Override
+    public List<ObjectError> getGlobalErrors() {
+        List<ObjectError> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (fields[i] == null) {
+                result.add(new ObjectError(objectName, new String[]{codes[i]}, arguments[i], defaultMessages[i]));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Errors 규약을 위해 제공한다. 호출할 때마다 FieldError를 새로 만든다.
+     */
+    @Override
+    public List<FieldError> getFieldErrors() {
+        List<FieldError> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (fields[i] != null) {
+                result.add(new FieldError(objectName, fields[i], getFieldValue(fields[i]), false,
+                        new String[]{codes[i]}, arguments[i], defaultMessages[i]));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public Object getFieldValue(String field) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(target).getPropertyValue(fixedField(field));
+    }
+
+    /**
+     * 오류마다 메시지 코드 목록을 만들어 메시지를 찾는다. 메시지가 없으면 오류 코드를 메시지로 사용한다.
+     */
+    public List<ApiError> toApiErrors(MessageSource messageSource, MessageCodesResolver messageCodesResolver, Locale locale) {
+        List<ApiError> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String field = fields[i];
+            String[] messageCodes = field == null
+                    ? messageCodesResolver.resolveMessageCodes(codes[i], objectName)
+                    : messageCodesResolver.resolveMessageCodes(codes[i], objectName, field, fieldType(field));
+            result.add(new ApiError(field, codes[i],
+                    resolveMessage(messageSource, messageCodes, arguments[i], defaultMessages[i], codes[i], locale)));
+        }
+        return result;
+    }
+
+    /**
+     * 메시지를 찾지 않고 (field, code)만 담는다.
+     */
+    public List<ApiError> toApiErrors() {
+        List<ApiError> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new ApiError(fields[i], codes[i], null));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ApiErrors for object '").append(objectName).append("': ");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(fields[i] == null ? "" : fields[i] + ":").append(codes[i]);
+        }
+        return sb.toString();
+    }
+
+    private void clear() {
+        if (fields.length > MAX_RETAINED_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(arguments, 0, size, null);
+            Arrays.fill(defaultMessages, 0, size, null);
+        }
+        this.target = null;
+        this.objectName = null;
+        this.size = 0;
+        this.inUse = false;
+        setNestedPath("");
+    }
+
+    private void add(String field, String code, Object[] args, String defaultMessage) {
+        if (size == fields.length) {
+            int capacity = size * 2;
+            fields = Arrays.copyOf(fields, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+            defaultMessages = Arrays.copyOf(defaultMessages, capacity);
+        }
+        fields[size] = field;
+        codes[size] = code;
+        arguments[size] = args;
+        defaultMessages[size] = defaultMessage;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        fields = new String[capacity];
+        codes = new String[capacity];
+        arguments = new Object[capacity][];
+        defaultMessages = new String[capacity];
+    }
+
+    private Class<?> fieldType(String field) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(target.getClass(), field);
+        return descriptor == null ? null : descriptor.getPropertyType();
+    }
+
+    private static String resolveMessage(MessageSource messageSource, String[] messageCodes, Object[] args,
+                                         String defaultMessage, String code, Locale locale) {
+        try {
+            return messageSource.getMessage(new DefaultMessageSourceResolvable(messageCodes, args, defaultMessage), locale);
+        } catch (NoSuchMessageException e) {
+            return code;
+        }
+    }
+}
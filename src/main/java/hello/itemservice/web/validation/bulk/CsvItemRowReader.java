@@ -0,0 +1,94 @@
+package hello.itemservice.web.validation.bulk;
+
+import org.springframework.beans.MutablePropertyValues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 첫 줄은 헤더, 이후 한 줄에 상품 하나 (text/csv)
+ * itemName,price,quantity
+ * itemA,10000,10
+ * 큰따옴표로 감싼 값 안의 쉼표와 "" (따옴표 하나)를 지원한다.
+ */
+class CsvItemRowReader implements ItemRowReader {
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private int lineNumber;
+
+    CsvItemRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public MutablePropertyValues next() throws IOException {
+        if (header == null) {
+            String headerLine = readLine();
+            if (headerLine == null) {
+                return null;
+            }
+            header = split(headerLine);
+        }
+
+        String line = readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> columns = split(line);
+        MutablePropertyValues values = new MutablePropertyValues();
+        for (int i = 0; i < Math.min(header.size(), columns.size()); i++) {
+            values.add(header.get(i), columns.get(i));
+        }
+        return values;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    private String readLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+        return line;
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString().trim());
+        return columns;
+    }
+}
@@ -0,0 +1,33 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * 대량 등록 요청 본문을 한 행씩 읽어서 ItemSaveForm에 바인딩할 값으로 바꾼다.
+ * 본문 전체를 메모리에 올리지 않고 한 줄씩 읽는다.
+ */
+public interface ItemRowReader {
+
+    /**
+     * 다음 행의 값, 더 이상 행이 없으면 null
+     * 형식이 잘못된 행은 JsonProcessingException을 던지고, 다음 호출에서는 그 다음 행을 읽는다.
+     */
+    MutablePropertyValues next() throws IOException;
+
+    /**
+     * 마지막으로 읽은 행의 줄 번호 (1부터)
+     */
+    int getLineNumber();
+
+    static ItemRowReader create(String contentType, BufferedReader reader, ObjectMapper objectMapper) {
+        if (contentType != null && MediaType.valueOf("text/csv").isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return new CsvItemRowReader(reader);
+        }
+        return new NdjsonItemRowReader(reader, objectMapper);
+    }
+}
@@ -0,0 +1,59 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.MutablePropertyValues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 한 줄에 JSON 객체 하나 (application/x-ndjson)
+ * {"itemName":"itemA","price":10000,"quantity":10}
+ */
+class NdjsonItemRowReader implements ItemRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int lineNumber;
+
+    NdjsonItemRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public MutablePropertyValues next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.isObject()) {
+            throw JsonMappingException.from((JsonParser) null, "JSON 객체가 아닙니다. line=" + lineNumber);
+        }
+
+        MutablePropertyValues values = new MutablePropertyValues();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            values.add(field.getKey(), value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+        }
+        return values;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
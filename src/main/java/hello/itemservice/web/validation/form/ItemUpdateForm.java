@@ -0,0 +1,28 @@
+package hello.itemservice.web.validation.form;
+
+import lombok.Data;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Data
+public class ItemUpdateForm {
+
+    @NotNull
+    private Long id;
+
+    @NotBlank
+    private String itemName;
+
+    @NotNull
+    @Range(min = 1000, max = 1000000)
+    private Integer price;
+
+    //수정에서는 수량은 자유롭게 변경할 수 있다.
+    private Integer quantity;
+
+    //수정 화면을 열 때의 상품 버전, 그 사이에 다른 사용자가 수정했으면 저장하지 않는다.
+    private Long version;
+
+}
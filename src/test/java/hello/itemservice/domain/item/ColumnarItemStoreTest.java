@@ -0,0 +1,77 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ColumnarItemStore store = new ColumnarItemStore();
+    ItemRepository itemRepository = new ItemRepository(store);
+
+    @Test
+    void saveAndFind() {
+        //given
+        Item item = new Item("itemA", 10000, null);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+        assertThat(findItem).isNotSameAs(savedItem);
+        assertThat(findItem.getQuantity()).isNull();
+    }
+
+    @Test
+    void saveManyItems() {
+        //given
+        for (int i = 0; i < 5000; i++) {
+            itemRepository.save(new Item("item" + (i % 10), 1000 + i, i));
+        }
+
+        //when
+        Item findItem = itemRepository.findById(4321L);
+
+        //then
+        assertThat(itemRepository.findAll().size()).isEqualTo(5000);
+        assertThat(findItem.getItemName()).isEqualTo("item0");
+        assertThat(findItem.getPrice()).isEqualTo(5320);
+        assertThat(findItem.getQuantity()).isEqualTo(4320);
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("item2", 20000, 30));
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(30);
+        assertThat(itemRepository.findByItemName("item1", 10)).isEmpty();
+    }
+
+    @Test
+    void releaseUnusedNames() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item0", 10000, 10));
+        itemRepository.save(new Item("shared", 10000, 10));
+        itemRepository.save(new Item("shared", 10000, 10));
+
+        //when 상품명을 계속 바꾼다
+        for (int i = 1; i <= 1000; i++) {
+            itemRepository.update(savedItem.getId(), new Item("item" + i, 10000, 10));
+        }
+
+        //then 쓰지 않는 상품명은 사전에 남지 않는다
+        assertThat(store.nameCount()).isEqualTo(2);
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item1000");
+        assertThat(itemRepository.findByItemName("shared", 10)).hasSize(2);
+    }
+}
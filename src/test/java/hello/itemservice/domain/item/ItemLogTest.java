@@ -0,0 +1,174 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.*;
+
+class ItemLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip() throws IOException {
+        //given
+        ItemLog itemLog = open(new ArrayList<>());
+        itemLog.append(ItemLog.SAVE, item(1L, "itemA", 10000, null, 1L));
+        itemLog.awaitDurable(itemLog.append(ItemLog.UPDATE, item(1L, null, 20000, 20, 2L)));
+        itemLog.close();
+
+        //when
+        List<Item> replayed = new ArrayList<>();
+        open(replayed).close();
+
+        //then
+        assertThat(replayed).hasSize(2);
+        assertThat(replayed.get(0).getItemName()).isEqualTo("itemA");
+        assertThat(replayed.get(0).getQuantity()).isNull();
+        assertThat(replayed.get(1).getItemName()).isNull();
+        assertThat(replayed.get(1).getPrice()).isEqualTo(20000);
+        assertThat(replayed.get(1).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void truncatedTail() throws IOException {
+        //given 마지막 레코드를 쓰는 도중에 종료되었다
+        writeRecords(2);
+        long fullSize = Files.size(logFile());
+        try (FileChannel channel = FileChannel.open(logFile(), WRITE)) {
+            channel.truncate(fullSize - 3);
+        }
+
+        //when
+        List<Item> replayed = new ArrayList<>();
+        ItemLog itemLog = open(replayed);
+        itemLog.awaitDurable(itemLog.append(ItemLog.SAVE, item(3L, "item3", 1000, 1, 1L)));
+        itemLog.close();
+
+        //then 깨진 레코드는 잘라내고 그 뒤에 이어서 기록한다
+        assertThat(replayed).extracting(Item::getId).containsExactly(1L);
+        List<Item> reopened = new ArrayList<>();
+        open(reopened).close();
+        assertThat(reopened).extracting(Item::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void corruptedChecksum() throws IOException {
+        //given
+        writeRecords(2);
+        byte[] bytes = Files.readAllBytes(logFile());
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(logFile(), bytes);
+
+        //when
+        List<Item> replayed = new ArrayList<>();
+        open(replayed).close();
+
+        //then
+        assertThat(replayed).extracting(Item::getId).containsExactly(1L);
+    }
+
+    @Test
+    void groupCommitKeepsOrderPerWriter() throws Exception {
+        //given
+        ItemLog itemLog = open(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when 스레드마다 자기 id 범위를 순서대로 기록한다
+        for (int t = 0; t < 8; t++) {
+            long base = t * 1000L;
+            executor.submit(() -> {
+                for (long i = 1; i <= 100; i++) {
+                    itemLog.awaitDurable(itemLog.append(ItemLog.SAVE, item(base + i, "item", 1000, 1, 1L)));
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        itemLog.close();
+
+        //then
+        List<Item> replayed = new ArrayList<>();
+        open(replayed).close();
+        assertThat(replayed).hasSize(800);
+        long[] last = new long[8];
+        for (Item item : replayed) {
+            int writer = (int) (item.getId() / 1000);
+            assertThat(item.getId()).isGreaterThan(last[writer]);
+            last[writer] = item.getId();
+        }
+    }
+
+    @Test
+    void failureIsSticky() {
+        //given 열지 않은 로그는 기록에 실패한다
+        ItemLog itemLog = new ItemLog(directory, Long.MAX_VALUE);
+
+        //when
+        long first = itemLog.append(ItemLog.SAVE, item(1L, "item1", 1000, 1, 1L));
+
+        //then
+        assertThatThrownBy(() -> itemLog.awaitDurable(first)).isInstanceOf(UncheckedIOException.class);
+        long second = itemLog.append(ItemLog.SAVE, item(2L, "item2", 1000, 1, 1L));
+        assertThatThrownBy(() -> itemLog.awaitDurable(second)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void repositoryAppliesOnlyDurableWrites() throws IOException {
+        //given
+        ItemRepository itemRepository = new ItemRepository();
+        itemRepository.recover();
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.setItemLog(new ItemLog(directory, Long.MAX_VALUE)); // 열지 않아서 기록에 실패한다
+
+        //when
+        assertThatThrownBy(() -> itemRepository.save(new Item("item2", 20000, 20)))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> itemRepository.update(savedItem.getId(), new Item("item3", 30000, 30)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        //then 기록에 실패한 쓰기는 저장소에 보이지 않는다
+        assertThat(itemRepository.findAll()).containsExactly(savedItem);
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item1");
+        assertThat(itemRepository.findByItemName("item2", 10)).isEmpty();
+    }
+
+    private ItemLog open(List<Item> replayed) throws IOException {
+        ItemLog itemLog = new ItemLog(directory, Long.MAX_VALUE);
+        itemLog.open(replayed::add);
+        return itemLog;
+    }
+
+    private void writeRecords(int count) throws IOException {
+        ItemLog itemLog = open(new ArrayList<>());
+        for (long id = 1; id <= count; id++) {
+            itemLog.awaitDurable(itemLog.append(ItemLog.SAVE, item(id, "item" + id, 1000, 1, 1L)));
+        }
+        itemLog.close();
+    }
+
+    private Path logFile() {
+        return directory.resolve("items.log");
+    }
+
+    static Item item(Long id, String itemName, Integer price, Integer quantity, Long version) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        item.setLastModified(0L);
+        return item;
+    }
+}
@@ -3,7 +3,11 @@ package hello.itemservice.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -27,6 +31,7 @@ class ItemRepositoryTest {
         //then
         Item findItem = itemRepository.findById(item.getId());
         assertThat(findItem).isEqualTo(savedItem);
+        assertThat(itemRepository.isEmpty()).isFalse();
     }
 
     @Test
@@ -46,6 +51,89 @@ class ItemRepositoryTest {
         assertThat(result).contains(item1, item2);
     }
 
+    @Test
+    void findAllReusesSnapshotUntilWrite() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        List<Item> first = itemRepository.findAll();
+        List<Item> second = itemRepository.findAll();
+        itemRepository.save(new Item("item2", 20000, 20));
+        List<Item> third = itemRepository.findAll();
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        assertThat(third.size()).isEqualTo(2);
+        assertThatThrownBy(() -> third.add(new Item()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findAfter() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        List<Item> firstPage = itemRepository.findAfter(null, 2);
+        List<Item> secondPage = itemRepository.findAfter(item2.getId(), 2);
+        List<Item> afterFirst = itemRepository.findAfter(item1.getId(), 2);
+
+        //then
+        assertThat(firstPage).containsExactly(item1, item2);
+        assertThat(secondPage).containsExactly(item3);
+        assertThat(afterFirst).containsExactly(item2, item3);
+        assertThat(itemRepository.hasAfter(item2.getId())).isTrue();
+        assertThat(itemRepository.hasAfter(item3.getId())).isFalse();
+        assertThat(itemRepository.hasAfter(null)).isTrue();
+    }
+
+    @Test
+    void findByIndexes() {
+        //given
+        Item apple = itemRepository.save(new Item("apple", 1000, 10));
+        Item apricot = itemRepository.save(new Item("apricot", 5000, 10));
+        Item banana = itemRepository.save(new Item("banana", 3000, 10));
+
+        //when
+        itemRepository.update(banana.getId(), new Item("berry", 9000, 10));
+
+        //then
+        assertThat(itemRepository.findByItemName("apple", 10)).containsExactly(apple);
+        assertThat(itemRepository.findByItemNameStartingWith("ap", 10)).containsExactly(apple, apricot);
+        assertThat(itemRepository.findByItemName("banana", 10)).isEmpty();
+        assertThat(itemRepository.findByPriceBetween(1000, 5000, 10)).containsExactly(apple, apricot);
+        assertThat(itemRepository.findByPriceBetween(6000, 10000, 10)).extracting(Item::getId).containsExactly(banana.getId());
+    }
+
+    @Test
+    void iterateWithoutLimit() {
+        //given
+        for (int i = 0; i < ItemRepository.MAX_PAGE_SIZE + 10; i++) {
+            itemRepository.save(new Item("item" + i, i * 10, 10));
+        }
+
+        //when
+        Iterator<Item> all = itemRepository.iterateAfter(null);
+        Iterator<Item> byPrice = itemRepository.iterateByPriceBetween(100, 120);
+
+        //then
+        int count = 0;
+        long lastId = 0;
+        while (all.hasNext()) {
+            Item item = all.next();
+            assertThat(item.getId()).isGreaterThan(lastId);
+            lastId = item.getId();
+            count++;
+        }
+        assertThat(count).isEqualTo(ItemRepository.MAX_PAGE_SIZE + 10);
+        assertThat(byPrice).toIterable().extracting(Item::getPrice).containsExactly(100, 110, 120);
+        assertThat(itemRepository.iterateByItemNameStartingWith("item10")).toIterable().hasSize(11);
+    }
+
     @Test
     void updateItem() {
         //given
@@ -65,4 +153,95 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateBumpsItemVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Long itemId = savedItem.getId();
+
+        //when
+        itemRepository.update(itemId, new Item("item2", 20000, 30));
+        itemRepository.update(itemId, new Item("item3", 30000, 30));
+
+        //then
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getVersion()).isEqualTo(3L);
+        assertThat(findItem.getLastModified()).isPositive();
+    }
+
+    @Test
+    void updateWithStaleVersionIsRejected() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Long itemId = savedItem.getId();
+
+        Item first = new Item("item2", 20000, 20);
+        first.setVersion(1L);
+        Item second = new Item("item3", 30000, 30);
+        second.setVersion(1L);
+
+        //when
+        UpdateResult firstResult = itemRepository.update(itemId, first);
+        UpdateResult secondResult = itemRepository.update(itemId, second);
+
+        //then
+        assertThat(firstResult).isEqualTo(UpdateResult.UPDATED);
+        assertThat(secondResult).isEqualTo(UpdateResult.CONFLICT);
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(2L);
+        assertThat(savedItem.getItemName()).isEqualTo("item1"); // 저장된 상품은 바꾸지 않고 교체한다
+    }
+
+    @Test
+    void updateMissingItem() {
+        //when
+        UpdateResult result = itemRepository.update(999L, new Item("item1", 10000, 10));
+
+        //then
+        assertThat(result).isEqualTo(UpdateResult.NOT_FOUND);
+        assertThat(itemRepository.findById(999L)).isNull();
+    }
+
+    @Test
+    void concurrentUpdate() throws InterruptedException {
+        //given
+        Long itemId = itemRepository.save(new Item("item", 10000, 10)).getId();
+        int count = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int i = 0; i < count; i++) {
+            int price = i;
+            executor.submit(() -> itemRepository.update(itemId, new Item("item" + price % 10, price, 10)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then 버전 없이 수정하면 모두 반영되고, 인덱스에는 마지막 상태만 남는다
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getVersion()).isEqualTo(count + 1L);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 100)).containsExactly(findItem);
+        assertThat(itemRepository.findByPriceBetween(0, count, 100)).containsExactly(findItem);
+    }
+
+    @Test
+    void concurrentSave() throws InterruptedException {
+        //given
+        int count = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int i = 0; i < count; i++) {
+            executor.submit(() -> itemRepository.save(new Item("item", 10000, 10)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        List<Item> result = itemRepository.findAll();
+        assertThat(result.size()).isEqualTo(count);
+        assertThat(result).extracting(Item::getId).doesNotHaveDuplicates();
+    }
 }
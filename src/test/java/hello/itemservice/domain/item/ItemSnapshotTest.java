@@ -0,0 +1,89 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static hello.itemservice.domain.item.ItemLogTest.item;
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndRead() throws IOException {
+        //given
+        Path file = directory.resolve("items.snapshot");
+        Item itemA = item(1L, "상품A", 10000, 10, 3L);
+        Item itemB = item(2L, null, null, null, 1L);
+        itemB.setLastModified(1234L);
+
+        //when
+        ItemSnapshot.write(file, List.of(itemA, itemB));
+        List<Item> items = new ArrayList<>();
+        int count = ItemSnapshot.read(file, items::add);
+
+        //then
+        assertThat(count).isEqualTo(2);
+        assertThat(items.get(0)).isEqualTo(itemA);
+        assertThat(items.get(1)).isEqualTo(itemB);
+        assertThat(Files.exists(directory.resolve("items.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    void readFormatVersion1() throws IOException {
+        //given 형식 1에는 version/lastModified가 없다
+        byte[] name = "itemA".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 8 + 4 + name.length + 1 + 4 + 4);
+        buffer.putInt(0x49544D53).putInt(1).putInt(1);
+        buffer.putLong(7L).putInt(name.length).put(name);
+        buffer.put((byte) 1).putInt(10000).putInt(0);
+        Path file = directory.resolve("items.snapshot");
+        Files.write(file, buffer.array());
+
+        //when
+        List<Item> items = new ArrayList<>();
+        ItemSnapshot.read(file, items::add);
+
+        //then
+        Item item = items.get(0);
+        assertThat(item.getId()).isEqualTo(7L);
+        assertThat(item.getItemName()).isEqualTo("itemA");
+        assertThat(item.getPrice()).isEqualTo(10000);
+        assertThat(item.getQuantity()).isNull();
+        assertThat(item.getVersion()).isEqualTo(1L);
+        assertThat(item.getLastModified()).isEqualTo(0L);
+    }
+
+    @Test
+    void compact() throws IOException {
+        //given 이전 스냅샷이 있다
+        ItemSnapshot.write(directory.resolve("items.snapshot"), List.of(item(1L, "item1", 1000, 1, 1L)));
+        ItemLog itemLog = new ItemLog(directory, 0L);
+        itemLog.open(item -> {
+        });
+
+        //when 로그가 compactThreshold를 넘을 때마다 스냅샷과 로그를 합치고 로그를 비운다
+        itemLog.awaitDurable(itemLog.append(ItemLog.UPDATE, item(1L, "item1", 2000, 2, 2L)));
+        itemLog.awaitDurable(itemLog.append(ItemLog.SAVE, item(2L, "item2", 3000, 3, 1L)));
+        itemLog.close();
+
+        //then
+        assertThat(Files.size(directory.resolve("items.log"))).isZero();
+        List<Item> replayed = new ArrayList<>();
+        ItemLog reopened = new ItemLog(directory, Long.MAX_VALUE);
+        reopened.open(replayed::add);
+        reopened.close();
+        assertThat(replayed).extracting(Item::getId, Item::getPrice, Item::getVersion)
+                .containsExactlyInAnyOrder(tuple(1L, 2000, 2L), tuple(2L, 3000, 1L));
+    }
+}
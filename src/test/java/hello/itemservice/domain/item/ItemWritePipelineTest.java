@@ -0,0 +1,308 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemWritePipelineTest {
+
+    @TempDir
+    Path directory;
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemWritePipeline writePipeline = new ItemWritePipeline(16, Duration.ofMillis(1), 128);
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        itemRepository.setWritePipeline(writePipeline);
+        itemRepository.recover();
+    }
+
+    @AfterEach
+    void afterEach() {
+        writePipeline.close();
+    }
+
+    @Test
+    void saveAsync() {
+        //given
+        List<CompletableFuture<Item>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            futures.add(itemRepository.saveAsync(new Item("item" + i, 10000, 10)));
+        }
+
+        //then
+        List<Item> savedItems = new ArrayList<>();
+        for (CompletableFuture<Item> future : futures) {
+            savedItems.add(future.join());
+        }
+        assertThat(savedItems).extracting(Item::getId).doesNotHaveDuplicates();
+        assertThat(itemRepository.findAll().size()).isEqualTo(1000);
+    }
+
+    @Test
+    void updateConflictInSameBatch() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Item first = new Item("item2", 20000, 20);
+        first.setVersion(savedItem.getVersion());
+        Item second = new Item("item3", 30000, 30);
+        second.setVersion(savedItem.getVersion());
+
+        //when
+        CompletableFuture<UpdateResult> firstResult = itemRepository.updateAsync(savedItem.getId(), first);
+        CompletableFuture<UpdateResult> secondResult = itemRepository.updateAsync(savedItem.getId(), second);
+        CompletableFuture<UpdateResult> missingResult = itemRepository.updateAsync(999L, new Item("item4", 10000, 10));
+
+        //then
+        assertThat(firstResult.join()).isEqualTo(UpdateResult.UPDATED);
+        assertThat(secondResult.join()).isEqualTo(UpdateResult.CONFLICT);
+        assertThat(missingResult.join()).isEqualTo(UpdateResult.NOT_FOUND);
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item2");
+    }
+
+    @Test
+    void rejectAfterClose() {
+        //when
+        writePipeline.close();
+
+        //then
+        assertThatThrownBy(() -> itemRepository.save(new Item("item1", 10000, 10)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void oneLogWaitPerBatch() throws Exception {
+        //given 쓰기 스레드가 첫 쓰기의 로그 기록을 기다리는 동안 쓰기가 쌓인다
+        BlockingItemLog itemLog = new BlockingItemLog(directory);
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ZERO, 128), itemLog);
+        CompletableFuture<Item> first = repository.saveAsync(new Item("item0", 10000, 10));
+        itemLog.awaitBlocked();
+
+        List<CompletableFuture<Item>> futures = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            futures.add(repository.saveAsync(new Item("item" + i, 10000, 10)));
+        }
+
+        //when
+        itemLog.release();
+        first.join();
+        futures.forEach(CompletableFuture::join);
+        repository.close();
+
+        //then 쌓인 10개는 한 묶음으로 한 번만 기다린다
+        assertThat(itemLog.awaitCount.get()).isEqualTo(2);
+        assertThat(repository.findAll()).hasSize(11);
+        itemLog.close();
+    }
+
+    @Test
+    void saveAllIsOneWrite() throws Exception {
+        //given
+        BlockingItemLog itemLog = new BlockingItemLog(directory);
+        itemLog.release();
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ZERO, 128), itemLog);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        repository.saveAll(items);
+        repository.close();
+
+        //then
+        assertThat(itemLog.awaitCount.get()).isEqualTo(1);
+        assertThat(repository.findAll()).hasSize(100);
+        itemLog.close();
+    }
+
+    @Test
+    void failedSaveAllSavesNothing() throws Exception {
+        //given
+        ItemLog itemLog = new ItemLog(directory, Long.MAX_VALUE);
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ZERO, 128), itemLog);
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("item1", 10000, 10));
+        items.add(new Item("item2", 10000, 10));
+        items.add(null);
+
+        //when 세 번째 상품에서 실패한다
+        assertThatThrownBy(() -> repository.saveAll(items)).isInstanceOf(NullPointerException.class);
+        Item savedItem = repository.save(new Item("item3", 10000, 10));
+        repository.close();
+        itemLog.close();
+
+        //then 앞의 두 상품도 저장소와 로그에 남지 않는다
+        assertThat(repository.findAll()).containsExactly(savedItem);
+        assertThat(repository.findByItemName("item1", 10)).isEmpty();
+        List<Item> replayed = new ArrayList<>();
+        ItemLog reopened = new ItemLog(directory, Long.MAX_VALUE);
+        reopened.open(replayed::add);
+        reopened.close();
+        assertThat(replayed).extracting(Item::getItemName).containsExactly("item3");
+    }
+
+    @Test
+    void waitUpToMaxLatency() {
+        //given
+        ItemWritePipeline pipeline = new ItemWritePipeline(1000, Duration.ofMillis(50), 128);
+        ItemRepository repository = repository(pipeline);
+
+        //when 묶음이 차지 않아도 maxLatency가 지나면 적용한다
+        long start = System.nanoTime();
+        Item savedItem = repository.saveAsync(new Item("item1", 10000, 10)).orTimeout(5, TimeUnit.SECONDS).join();
+        long elapsed = System.nanoTime() - start;
+        pipeline.close();
+
+        //then
+        assertThat(savedItem.getId()).isNotNull();
+        assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void blockWhenQueueIsFull() throws Exception {
+        //given 쓰기 스레드가 멈춰 있고 큐(크기 1)가 가득 찼다
+        BlockingItemLog itemLog = new BlockingItemLog(directory);
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ZERO, 1), itemLog);
+        CompletableFuture<Item> first = repository.saveAsync(new Item("item1", 10000, 10));
+        itemLog.awaitBlocked();
+        CompletableFuture<Item> second = repository.saveAsync(new Item("item2", 10000, 10));
+
+        //when
+        Thread producer = new Thread(() -> repository.saveAsync(new Item("item3", 10000, 10)));
+        producer.start();
+        producer.join(200);
+
+        //then 큐에 자리가 날 때까지 넣는 스레드가 기다린다
+        assertThat(producer.isAlive()).isTrue();
+        itemLog.release();
+        producer.join(5000);
+        assertThat(producer.isAlive()).isFalse();
+        first.join();
+        second.join();
+        repository.close();
+        itemLog.close();
+        assertThat(repository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void failedBatchFailsEveryWrite() throws Exception {
+        //given 로그를 닫아서 이후 기록이 실패한다
+        BlockingItemLog itemLog = new BlockingItemLog(directory);
+        itemLog.release();
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ofMillis(10), 128), itemLog);
+        Item savedItem = repository.save(new Item("item0", 10000, 10));
+        itemLog.close();
+
+        //when
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        futures.add(repository.saveAsync(new Item("item1", 10000, 10)));
+        futures.add(repository.saveAsync(new Item("item2", 10000, 10)));
+        futures.add(repository.updateAsync(savedItem.getId(), new Item("item3", 20000, 20)));
+
+        //then 묶음의 모든 쓰기가 실패하고 저장소는 바뀌지 않는다
+        for (CompletableFuture<?> future : futures) {
+            assertThatThrownBy(future::join).isInstanceOf(CompletionException.class);
+        }
+        repository.close();
+        assertThat(repository.findAll()).containsExactly(savedItem);
+        assertThat(repository.findById(savedItem.getId()).getItemName()).isEqualTo("item0");
+    }
+
+    @Test
+    void closeAppliesQueuedWritesBeforeLog() throws Exception {
+        //given
+        BlockingItemLog itemLog = new BlockingItemLog(directory);
+        itemLog.release();
+        ItemRepository repository = persistentRepository(new ItemWritePipeline(16, Duration.ofMillis(10), 1024), itemLog);
+        List<CompletableFuture<Item>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(repository.saveAsync(new Item("item" + i, 10000, 10)));
+        }
+
+        //when 저장소를 먼저 닫고 로그를 닫는다 (스프링 종료 순서)
+        repository.close();
+        itemLog.close();
+
+        //then
+        for (CompletableFuture<Item> future : futures) {
+            assertThat(future.join().getId()).isNotNull();
+        }
+        ItemRepository recovered = new ItemRepository();
+        ItemLog reopened = new ItemLog(directory, Long.MAX_VALUE);
+        recovered.setItemLog(reopened);
+        recovered.recover();
+        reopened.close();
+        assertThat(recovered.findAll()).hasSize(500);
+    }
+
+    private static ItemRepository repository(ItemWritePipeline pipeline) {
+        ItemRepository repository = new ItemRepository();
+        repository.setWritePipeline(pipeline);
+        try {
+            repository.recover();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return repository;
+    }
+
+    private static ItemRepository persistentRepository(ItemWritePipeline pipeline, ItemLog itemLog) throws IOException {
+        ItemRepository repository = new ItemRepository();
+        repository.setItemLog(itemLog);
+        repository.setWritePipeline(pipeline);
+        repository.recover();
+        return repository;
+    }
+
+    /**
+     * awaitDurable() 호출 수를 세고, release() 전까지는 기록하지 않고 멈춰 있는 로그
+     */
+    static class BlockingItemLog extends ItemLog {
+
+        final AtomicInteger awaitCount = new AtomicInteger();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        BlockingItemLog(Path directory) {
+            super(directory, Long.MAX_VALUE);
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {
+            awaitCount.incrementAndGet();
+            blocked.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.awaitDurable(sequence);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            blocked.await();
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
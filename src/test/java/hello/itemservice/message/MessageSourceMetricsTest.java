@@ -0,0 +1,46 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageSourceMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MessageSourceMetrics metrics = new MessageSourceMetrics(registry);
+
+    @Test
+    void countMissedCodes() {
+        //given
+        PrecompiledMessageSource messageSource = new PrecompiledMessageSource("messages", "errors");
+        messageSource.setMeterRegistry(registry);
+
+        //when
+        messageSource.getMessage("hello", null, null, Locale.KOREAN);
+        messageSource.getMessage("no.such.code", null, null, Locale.KOREAN);
+
+        //then
+        assertThat(registry.get("message.lookups").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("message.lookups").tag("result", "miss").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("message.misses").tag("code", "no.such.code").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.find("message.misses").tag("code", "hello").counter()).isNull();
+    }
+
+    @Test
+    void boundMissedCodes() {
+        //when
+        for (int i = 0; i < 1000; i++) {
+            metrics.record("code" + i, false);
+        }
+        metrics.record("code0", true);
+
+        //then 못 찾은 코드는 100개까지만 따로 세고 나머지는 other로 모은다
+        assertThat(registry.get("message.lookups").tag("result", "miss").counter().count()).isEqualTo(1000);
+        assertThat(registry.get("message.lookups").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("message.misses").counters()).hasSize(101);
+        assertThat(registry.get("message.misses").tag("code", "other").counter().count()).isEqualTo(900);
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PrecompiledMessageSourceTest {
+
+    PrecompiledMessageSource ms = new PrecompiledMessageSource("messages", "errors");
+
+    @BeforeEach
+    void beforeEach() {
+        ms.setFallbackToSystemLocale(false); // 실행 환경의 시스템 로케일과 관계없이
+    }
+
+    @Test
+    void message() {
+        assertThat(ms.getMessage("hello", null, Locale.KOREAN)).isEqualTo("안녕");
+        assertThat(ms.getMessage("hello.name", new Object[]{"Spring"}, Locale.ENGLISH)).isEqualTo("hello Spring");
+    }
+
+    @Test
+    void baseFileFallback() {
+        // errors_en.properties 는 없으므로 기본 파일에서 찾는다
+        assertThat(ms.getMessage("typeMismatch", null, Locale.ENGLISH)).isEqualTo("타입 오류입니다.");
+    }
+
+    @Test
+    void codeChain() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"range.item.price", "range.price", "range.java.lang.Integer", "range"},
+                new Object[]{1000, 1000000});
+
+        assertThat(ms.getMessage(resolvable, Locale.KOREAN)).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+    }
+
+    @Test
+    void notFoundMessageCode() {
+        assertThatThrownBy(() -> ms.getMessage("no_code", null, Locale.KOREAN))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThat(ms.getMessage("no_code", null, "기본 메시지", Locale.KOREAN)).isEqualTo("기본 메시지");
+    }
+
+    @Test
+    void reload() {
+        String before = ms.getMessage("hello", null, Locale.KOREAN);
+        ms.reload();
+        assertThat(ms.getMessage("hello", null, Locale.KOREAN)).isEqualTo(before);
+    }
+}
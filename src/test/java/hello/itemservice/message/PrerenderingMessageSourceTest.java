@@ -0,0 +1,63 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PrerenderingMessageSourceTest {
+
+    PrecompiledMessageSource delegate = new PrecompiledMessageSource("messages", "errors");
+    PrerenderingMessageSource ms = new PrerenderingMessageSource(delegate);
+
+    String[] rangeCodes = new DefaultMessageCodesResolver().resolveMessageCodes("range", "item", "price", Integer.class);
+
+    @BeforeEach
+    void beforeEach() {
+        delegate.setFallbackToSystemLocale(false);
+        ms.prerender(Collections.singletonList(rangeCodes), Arrays.asList(Locale.KOREAN, Locale.ENGLISH));
+    }
+
+    @Test
+    void prerenderedChain() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(rangeCodes, new Object[]{1000, 1000000});
+
+        assertThat(ms.getMessage(resolvable, Locale.KOREAN)).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        assertThat(ms.getMessage(resolvable, Locale.KOREA)).isEqualTo(delegate.getMessage(resolvable, Locale.KOREA));
+    }
+
+    @Test
+    void notPrerenderedChain() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"required.item.itemName", "required"}, null, "기본 메시지");
+
+        assertThat(ms.getMessage(resolvable, Locale.KOREAN)).isEqualTo("상품 이름은 필수입니다.");
+        assertThat(ms.getMessage(new DefaultMessageSourceResolvable(new String[]{"no_code"}, null, "기본 메시지"), Locale.KOREAN))
+                .isEqualTo("기본 메시지");
+    }
+
+    @Test
+    void notPrerenderedLocale() {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ms.bindTo(registry);
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(rangeCodes, new Object[]{1000, 1000000});
+
+        //when 지정하지 않은 로케일은 요청이 와도 미리 찾아 두지 않는다
+        for (int i = 0; i < 2; i++) {
+            ms.getMessage(resolvable, Locale.FRANCE);
+        }
+        ms.getMessage(resolvable, Locale.KOREAN);
+
+        //then
+        assertThat(registry.get("message.prerendered").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("message.prerendered").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+}
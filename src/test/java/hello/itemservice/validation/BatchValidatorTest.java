@@ -0,0 +1,50 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BatchValidatorTest {
+
+    BatchValidator batchValidator = new BatchValidator(
+            new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()), 4);
+
+    @AfterEach
+    void afterEach() {
+        batchValidator.destroy();
+    }
+
+    @Test
+    void validate() {
+        //given
+        List<ItemSaveForm> forms = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName("item" + i);
+            form.setPrice(i % 100 == 0 ? 10 : 10000); // 100개 중 하나는 가격 범위 오류
+            form.setQuantity(10);
+            forms.add(form);
+        }
+
+        //when
+        BatchValidationResult result = batchValidator.validate(forms, "item");
+
+        //then
+        assertThat(result.size()).isEqualTo(1000);
+        assertThat(result.getErrorCount()).isEqualTo(10);
+        assertThat(result.hasErrors(0)).isTrue();
+        assertThat(result.hasErrors(1)).isFalse();
+
+        FieldError error = result.getErrors(100).getFieldError("price");
+        assertThat(error.getCode()).isEqualTo("Range");
+        assertThat(error.getCodes()).contains("Range.item.price", "Range");
+    }
+}
@@ -0,0 +1,161 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CompiledValidatorTest {
+
+    SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+    CompiledValidator compiledValidator = new CompiledValidator(beanValidator, ItemSaveForm.class);
+
+    @Test
+    void sameErrorsAsBeanValidation() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10000);
+
+        //when
+        BeanPropertyBindingResult expected = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, expected);
+        BeanPropertyBindingResult actual = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, actual);
+
+        //then
+        assertThat(compiledValidator.isCompiled(ItemSaveForm.class)).isTrue();
+        assertThat(actual.getErrorCount()).isEqualTo(3);
+        for (String field : new String[]{"itemName", "price", "quantity"}) {
+            FieldError expectedError = expected.getFieldError(field);
+            FieldError actualError = actual.getFieldError(field);
+            assertThat(actualError.getCodes()).containsExactly(expectedError.getCodes());
+            assertThat(actualError.getRejectedValue()).isEqualTo(expectedError.getRejectedValue());
+            assertThat(actualError.getArguments().length).isEqualTo(expectedError.getArguments().length);
+            assertThat(actualError.getArguments()[0].toString()).isEqualTo(expectedError.getArguments()[0].toString());
+        }
+        assertThat(actual.getFieldError("price").getArguments()).endsWith(1000000L, 1000L);
+    }
+
+    @Test
+    void skipBindingFailure() {
+        //given
+        MutablePropertyValues values = new MutablePropertyValues();
+        values.add("itemName", "itemA");
+        values.add("price", "abc");
+        values.add("quantity", "10");
+
+        //when
+        BindingResult expected = bind(values);
+        beanValidator.validate(expected.getTarget(), expected);
+        BindingResult actual = bind(values);
+        compiledValidator.validate(actual.getTarget(), actual);
+
+        //then 타입 오류만 남고 NotNull은 추가되지 않는다
+        assertThat(actual.getFieldErrors("price")).extracting(FieldError::getCode).containsExactly("typeMismatch");
+        assertThat(actual.getFieldErrors()).extracting(FieldError::getCode)
+                .containsExactlyElementsOf(expected.getFieldErrors().stream().map(FieldError::getCode).collect(Collectors.toList()));
+    }
+
+    private static BindingResult bind(MutablePropertyValues values) {
+        DataBinder dataBinder = new DataBinder(new ItemSaveForm(), "item");
+        dataBinder.bind(values);
+        return dataBinder.getBindingResult();
+    }
+
+    @Test
+    void nullValue() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+
+        //when
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+
+        //then 필수값만 실패하고 범위 검사는 통과한다
+        assertThat(bindingResult.getFieldErrorCount()).isEqualTo(3);
+        assertThat(bindingResult.getFieldError("itemName").getCode()).isEqualTo("NotBlank");
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("NotNull");
+        assertThat(bindingResult.getFieldError("quantity").getCode()).isEqualTo("NotNull");
+    }
+
+    @Test
+    void validForm() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(1000);
+        form.setQuantity(9999);
+
+        //when
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void failFast() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10000);
+
+        //when
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.withMode(ValidationMode.FAIL_FAST).validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(bindingResult.getFieldError().getField()).isEqualTo("itemName");
+    }
+
+    @Test
+    void modeHint() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10000);
+
+        //when 힌트로 넘긴 모드는 그 호출에만 적용된다
+        BeanPropertyBindingResult failFast = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, failFast, ValidationMode.FAIL_FAST);
+        BeanPropertyBindingResult full = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, full);
+
+        //then
+        assertThat(failFast.getErrorCount()).isEqualTo(1);
+        assertThat(full.getErrorCount()).isEqualTo(3);
+    }
+
+    @Test
+    void failFastPerField() {
+        //given 바인딩 단계에서 price 타입 오류가 이미 있다
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setQuantity(10000);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("price", "typeMismatch");
+
+        //when
+        compiledValidator.withMode(ValidationMode.FAIL_FAST_PER_FIELD).validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.getFieldErrorCount("price")).isEqualTo(1);
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("typeMismatch");
+        assertThat(bindingResult.getFieldError("quantity").getCode()).isEqualTo("Max");
+    }
+}
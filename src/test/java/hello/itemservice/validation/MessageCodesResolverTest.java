@@ -28,4 +28,55 @@ public class MessageCodesResolverTest {
                 "required"
         );
     }
+
+    @Test
+    void cachingMessageCodesResolver() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver();
+
+        String[] first = cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        String[] second = cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+
+        assertThat(second).containsExactly(
+                messageCodesResolver.resolveMessageCodes("range", "item", "price", Integer.class));
+        assertThat(second).isNotSameAs(first);
+        assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required");
+        assertThat(cachingResolver.getHitCount()).isEqualTo(1);
+        assertThat(cachingResolver.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cachingMessageCodesResolverReturnsCopy() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver();
+
+        String[] first = cachingResolver.resolveMessageCodes("required", "item");
+        first[0] = "changed";
+
+        assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required");
+    }
+
+    @Test
+    void cachingMessageCodesResolverMaxSize() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver(messageCodesResolver, 2);
+
+        cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] messages = cachingResolver.resolveMessageCodes("max", "item", "quantity", Integer.class);
+
+        // 가득 찬 상태에서 새 항목을 넣으면 비우고 다시 채운다
+        assertThat(cachingResolver.size()).isEqualTo(1);
+        assertThat(messages).containsExactly(
+                "max.item.quantity",
+                "max.quantity",
+                "max.java.lang.Integer",
+                "max"
+        );
+        cachingResolver.resolveMessageCodes("max", "item", "quantity", Integer.class);
+        cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        assertThat(cachingResolver.getHitCount()).isEqualTo(2);
+        assertThat(cachingResolver.getMissCount()).isEqualTo(4);
+        assertThat(cachingResolver.size()).isEqualTo(2);
+    }
 }
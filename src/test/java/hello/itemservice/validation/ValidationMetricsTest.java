@@ -0,0 +1,40 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ValidationMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+
+    @Test
+    void timedValidator() {
+        //given
+        Validator validator = validationMetrics.timed("test",
+                new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()));
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(10);
+
+        //when
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("itemName", "typeMismatch"); // 검증 전에 있던 오류는 세지 않는다
+        validator.validate(form, bindingResult);
+
+        //then
+        assertThat(validationMetrics.timed("test", null)).isSameAs(validator);
+        assertThat(registry.get("validation").tag("validator", "test").timer().count()).isEqualTo(1);
+        assertThat(registry.get("validation.errors").tags("validator", "test", "code", "Range").counter().count()).isEqualTo(1);
+        assertThat(registry.get("validation.errors").tags("validator", "test", "code", "NotNull").counter().count()).isEqualTo(1);
+        assertThat(registry.get("validation.errors").tags("validator", "test", "code", "typeMismatch").counter().count()).isEqualTo(0);
+    }
+}
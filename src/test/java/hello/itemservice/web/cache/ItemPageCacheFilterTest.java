@@ -0,0 +1,101 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ItemPageCacheFilterTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemPageCacheFilter filter = new ItemPageCacheFilter(itemRepository, 100);
+
+    AtomicInteger renderCount = new AtomicInteger();
+    FilterChain chain = (request, response) -> {
+        renderCount.incrementAndGet();
+        ((HttpServletResponse) response).setHeader("ETag", "\"items-" + itemRepository.getVersion() + "\"");
+        response.setContentType("text/html;charset=UTF-8");
+        response.getWriter().write("items=" + itemRepository.findAll().size());
+    };
+
+    @Test
+    void cacheUntilRepositoryChanges() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        MockHttpServletResponse first = get(null);
+        MockHttpServletResponse second = get(null);
+
+        //then
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader("ETag")).isEqualTo(first.getHeader("ETag"));
+
+        //when 저장하면 다시 렌더링한다
+        itemRepository.save(new Item("itemB", 20000, 20));
+        MockHttpServletResponse third = get(null);
+
+        //then
+        assertThat(renderCount.get()).isEqualTo(2);
+        assertThat(third.getContentAsString()).isEqualTo("items=2");
+        assertThat(third.getHeader("ETag")).isNotEqualTo(first.getHeader("ETag"));
+    }
+
+    @Test
+    void notModified() throws Exception {
+        //given
+        MockHttpServletResponse first = get(null);
+
+        //when
+        MockHttpServletResponse second = get(first.getHeader("ETag"));
+
+        //then 컨트롤러가 붙인 ETag를 캐시에서 그대로 비교한다
+        assertThat(first.getHeader("ETag")).isEqualTo("\"items-" + itemRepository.getVersion() + "\"");
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getHeader("ETag")).isEqualTo(first.getHeader("ETag"));
+        assertThat(second.getContentAsByteArray()).isEmpty();
+        assertThat(renderCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void staleETagIsPassedToController() throws Exception {
+        //given
+        MockHttpServletResponse first = get(null);
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        MockHttpServletResponse second = get(first.getHeader("ETag"));
+
+        //then
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo("items=1");
+        assertThat(renderCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void notCacheablePath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v1/items/add");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(renderCount.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v1/items");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,162 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.validation.BatchValidator;
+import hello.itemservice.validation.ValidationMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationItemBulkApiControllerTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository();
+    BatchValidator batchValidator = new BatchValidator(
+            new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()), 4);
+    ValidationItemBulkApiController controller = controller(ValidationMode.FULL);
+
+    @AfterEach
+    void afterEach() {
+        batchValidator.destroy();
+    }
+
+    @Test
+    void mixedRows() throws Exception {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\"itemB\",\"price\":10,\"quantity\":1000}\n" +
+                "{\"itemName\":\n" +
+                "{\"itemName\":\"itemC\",\"price\":\"abc\",\"quantity\":10}\n" +
+                "{\"itemName\":\"itemD\",\"price\":1000,\"quantity\":1}\n" +
+                "{\"itemName\":\"itemE\",\"price\":20000,\"quantity\":20}\n";
+
+        //when
+        List<JsonNode> lines = addItems("application/x-ndjson", body);
+
+        //then
+        Map<Integer, List<String>> errors = errorCodes(lines);
+        assertThat(errors).containsOnlyKeys(2, 3, 4, 5);
+        assertThat(errors.get(2)).containsExactly("Range");
+        assertThat(errors.get(3)).containsExactly("malformedRow");
+        assertThat(errors.get(4)).containsExactly("typeMismatch");
+        assertThat(errors.get(5)).containsExactly("totalPriceMin");
+        assertThat(lines.get(0).get("errors").get(0).get("message").asText()).isEqualTo("형식이 올바르지 않은 행입니다.");
+        assertSummary(lines, 2, 4);
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactly("itemA", "itemE");
+    }
+
+    @Test
+    void skipCombinationOnFieldError() throws Exception {
+        //given 가격 범위 오류가 있고, 가격 * 수량도 10000 미만이다
+        String body = "{\"itemName\":\"itemA\",\"price\":10,\"quantity\":10}\n";
+
+        //when
+        List<JsonNode> full = addItems("application/x-ndjson", body);
+        controller = controller(ValidationMode.FAIL_FAST_PER_FIELD);
+        List<JsonNode> perField = addItems("application/x-ndjson", body);
+
+        //then 필드마다 첫 오류까지만 검증하면 조합 검증은 건너뛴다
+        assertThat(errorCodes(full).get(1)).containsExactly("Range", "totalPriceMin");
+        assertThat(errorCodes(perField).get(1)).containsExactly("Range");
+    }
+
+    @Test
+    void csvQuotedFields() throws Exception {
+        //given
+        String body = "itemName,price,quantity\n" +
+                "\"item, A\",10000,10\n" +
+                "\"say \"\"hi\"\"\",10000,10\n" +
+                "itemC,abc,10\n";
+
+        //when
+        List<JsonNode> lines = addItems("text/csv", body);
+
+        //then
+        assertThat(errorCodes(lines)).containsOnlyKeys(4);
+        assertSummary(lines, 2, 1);
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactly("item, A", "say \"hi\"");
+    }
+
+    @Test
+    void chunkBoundaries() throws Exception {
+        //given 1000개 묶음의 마지막 행, 다음 묶음의 첫 행, 마지막 묶음의 행이 실패한다
+        StringBuilder body = new StringBuilder();
+        for (int line = 1; line <= 2001; line++) {
+            int price = line == 1000 || line == 1001 || line == 2001 ? 10 : 10000;
+            body.append("{\"itemName\":\"item").append(line).append("\",\"price\":").append(price)
+                    .append(",\"quantity\":10}\n");
+        }
+
+        //when
+        List<JsonNode> lines = addItems("application/x-ndjson", body.toString());
+
+        //then 오류는 묶음 순서대로 응답하고, 성공한 행은 줄 순서대로 저장한다
+        assertThat(errorCodes(lines).keySet()).containsExactly(1000, 1001, 2001);
+        assertSummary(lines, 1998, 3);
+        List<Item> items = itemRepository.findAll();
+        assertThat(items).hasSize(1998);
+        assertThat(items.get(998).getItemName()).isEqualTo("item999");
+        assertThat(items.get(999).getItemName()).isEqualTo("item1002");
+        assertThat(items.get(1997).getItemName()).isEqualTo("item2000");
+    }
+
+    private List<JsonNode> addItems(String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/api/items/bulk");
+        request.setContentType(contentType);
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.addItems(request, response, Locale.KOREAN);
+
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private ValidationItemBulkApiController controller(ValidationMode mode) {
+        return new ValidationItemBulkApiController(itemRepository, batchValidator,
+                new PrecompiledMessageSource("messages", "errors"), objectMapper, new DefaultMessageCodesResolver(), mode);
+    }
+
+    /**
+     * 줄 번호 → 오류 코드 (응답 순서대로)
+     */
+    private static Map<Integer, List<String>> errorCodes(List<JsonNode> lines) {
+        Map<Integer, List<String>> errors = new LinkedHashMap<>();
+        for (JsonNode line : lines) {
+            if (line.has("line")) {
+                List<String> codes = new ArrayList<>();
+                line.get("errors").forEach(error -> codes.add(error.get("code").asText()));
+                errors.put(line.get("line").asInt(), codes);
+            }
+        }
+        return errors;
+    }
+
+    private static void assertSummary(List<JsonNode> lines, int imported, int rejected) {
+        JsonNode summary = lines.get(lines.size() - 1);
+        assertThat(summary.get("imported").asInt()).isEqualTo(imported);
+        assertThat(summary.get("rejected").asInt()).isEqualTo(rejected);
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationItemQueryApiControllerTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository();
+    ValidationItemQueryApiController controller = new ValidationItemQueryApiController(itemRepository, objectMapper);
+
+    @BeforeEach
+    void beforeEach() {
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, i * 1000, 10));
+        }
+    }
+
+    @Test
+    void itemsWithCursor() throws Exception {
+        //when
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        controller.items(null, 2, new MockHttpServletRequest(), first);
+        JsonNode firstPage = objectMapper.readTree(first.getContentAsString());
+
+        MockHttpServletResponse last = new MockHttpServletResponse();
+        controller.items(4L, 2, new MockHttpServletRequest(), last);
+        JsonNode lastPage = objectMapper.readTree(last.getContentAsString());
+
+        //then
+        assertThat(firstPage.get("items")).extracting(item -> item.get("id").asLong()).containsExactly(1L, 2L);
+        assertThat(firstPage.get("nextCursor").asLong()).isEqualTo(2L);
+        assertThat(lastPage.get("items")).extracting(item -> item.get("itemName").asText()).containsExactly("item5");
+        assertThat(lastPage.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void itemsAsNdjson() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept", "application/x-ndjson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        controller.items(null, 100, request, response);
+
+        //then
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(lines).hasSize(5);
+        assertThat(objectMapper.readTree(lines[4]).get("price").asInt()).isEqualTo(5000);
+    }
+
+    @Test
+    void searchByPriceWithOffset() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        controller.search(null, "item", 2000, 4000, 1, 1, new MockHttpServletRequest(), response);
+
+        //then
+        JsonNode page = objectMapper.readTree(response.getContentAsString());
+        assertThat(page.get("items")).extracting(item -> item.get("price").asInt()).containsExactly(3000);
+        assertThat(page.get("nextOffset").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void noNextOffsetWithoutMoreMatches() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when 뒤에 상품은 더 있지만 가격 조건에 맞는 상품은 없다
+        controller.search(null, "item", 1000, 2000, 0, 2, new MockHttpServletRequest(), response);
+
+        //then
+        JsonNode page = objectMapper.readTree(response.getContentAsString());
+        assertThat(page.get("items")).extracting(item -> item.get("price").asInt()).containsExactly(1000, 2000);
+        assertThat(page.get("nextOffset").isNull()).isTrue();
+        assertThat(page.get("truncated").asBoolean()).isFalse();
+    }
+
+    @Test
+    void searchScanLimit() throws Exception {
+        //given 이름 순서로 item1 ~ item5 앞에 조건에 맞지 않는 상품이 MAX_SCAN_SIZE 개 있다
+        for (int i = 0; i < ValidationItemQueryApiController.MAX_SCAN_SIZE; i++) {
+            itemRepository.save(new Item("a" + i, 100, 10));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        controller.search(null, "", 1000, 5000, 0, 10, new MockHttpServletRequest(), response);
+
+        //then 조건에 맞지 않는 상품을 꺼내다가 멈추고 잘렸다고 알려준다
+        JsonNode page = objectMapper.readTree(response.getContentAsString());
+        assertThat(page.get("items")).isEmpty();
+        assertThat(page.get("nextOffset").isNull()).isTrue();
+        assertThat(page.get("truncated").asBoolean()).isTrue();
+    }
+
+    @Test
+    void searchOffsetLimit() {
+        //when
+        int offset = ValidationItemQueryApiController.MAX_SEARCH_OFFSET + 1;
+
+        //then
+        assertThatThrownBy(() -> controller.search(null, "item", null, null, offset, 10,
+                new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
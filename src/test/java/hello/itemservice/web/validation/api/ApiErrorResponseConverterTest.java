@@ -0,0 +1,34 @@
+package hello.itemservice.web.validation.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ApiErrorResponseConverterTest {
+
+    ApiErrorResponseConverter converter = new ApiErrorResponseConverter(new JsonFactory());
+
+    @Test
+    void write() throws IOException {
+        //given
+        ApiErrorResponse response = new ApiErrorResponse(Arrays.asList(
+                new ApiError("price", "Range", "1000에서 1000000 사이여야 합니다"),
+                new ApiError(null, "totalPriceMin", null)));
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        //when
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+
+        //then
+        assertThat(outputMessage.getBodyAsString()).isEqualTo(
+                "{\"errors\":[{\"field\":\"price\",\"code\":\"Range\",\"message\":\"1000에서 1000000 사이여야 합니다\"}," +
+                        "{\"code\":\"totalPriceMin\"}]}");
+        assertThat(converter.canRead(ApiErrorResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.web.validation.api;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ApiErrorsTest {
+
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource("messages", "errors");
+
+    @Test
+    void toApiErrors() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setPrice(10);
+        try (ApiErrors errors = ApiErrors.acquire(form, "item")) {
+            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+            errors.reject("totalPriceMin", new Object[]{10000, 100}, null);
+
+            //when
+            List<ApiError> apiErrors = errors.toApiErrors(messageSource, new DefaultMessageCodesResolver(), Locale.KOREAN);
+
+            //then
+            assertThat(errors.hasFieldErrors("price")).isTrue();
+            assertThat(errors.hasFieldErrors("quantity")).isFalse();
+            assertThat(errors.getFieldValue("price")).isEqualTo(10);
+            assertThat(apiErrors).extracting("field", "code").containsExactly(
+                    tuple("price", "range"), tuple(null, "totalPriceMin"));
+            assertThat(apiErrors.get(0).getMessage()).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        }
+    }
+
+    @Test
+    void reuseAfterClose() {
+        //given
+        ApiErrors first = ApiErrors.acquire(new ItemSaveForm(), "item");
+        first.reject("totalPriceMin");
+
+        //when 돌려주면 target과 오류를 비운다
+        first.close();
+        ApiErrors second = ApiErrors.acquire(new ItemSaveForm(), "itemSaveForm");
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(second.hasErrors()).isFalse();
+        assertThat(second.getObjectName()).isEqualTo("itemSaveForm");
+        second.close();
+    }
+
+    @Test
+    void notSharedWhileInUse() {
+        //given
+        ApiErrors first = ApiErrors.acquire(new ItemSaveForm(), "item");
+
+        //when
+        ApiErrors second = ApiErrors.acquire(new ItemSaveForm(), "item");
+
+        //then 돌려주기 전에는 다른 요청(스레드)에 빌려주지 않는다
+        assertThat(second).isNotSameAs(first);
+        first.close();
+        second.close();
+    }
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemRowReaderTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvQuotedFields() throws IOException {
+        //given
+        ItemRowReader rowReader = reader("text/csv",
+                "itemName,price,quantity\n" +
+                "\"item, A\",10000,10\n" +
+                "\n" +
+                "\"say \"\"hi\"\"\", 20000 ,\"20\"\n");
+
+        //when
+        MutablePropertyValues first = rowReader.next();
+        int firstLine = rowReader.getLineNumber();
+        MutablePropertyValues second = rowReader.next();
+        int secondLine = rowReader.getLineNumber();
+
+        //then 따옴표 안의 쉼표와 "" 를 값으로 읽고, 빈 줄은 건너뛰지만 줄 번호는 센다
+        assertThat(first.get("itemName")).isEqualTo("item, A");
+        assertThat(first.get("price")).isEqualTo("10000");
+        assertThat(firstLine).isEqualTo(2);
+        assertThat(second.get("itemName")).isEqualTo("say \"hi\"");
+        assertThat(second.get("price")).isEqualTo("20000");
+        assertThat(second.get("quantity")).isEqualTo("20");
+        assertThat(secondLine).isEqualTo(4);
+        assertThat(rowReader.next()).isNull();
+    }
+
+    @Test
+    void csvMissingColumns() throws IOException {
+        //given
+        ItemRowReader rowReader = reader("text/csv; charset=UTF-8", "itemName,price,quantity\nitemA,10000\n");
+
+        //when
+        MutablePropertyValues values = rowReader.next();
+
+        //then
+        assertThat(values.get("price")).isEqualTo("10000");
+        assertThat(values.contains("quantity")).isFalse();
+    }
+
+    @Test
+    void ndjsonMalformedRow() throws IOException {
+        //given
+        ItemRowReader rowReader = reader("application/x-ndjson",
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":null}\n" +
+                "{\"itemName\":\n" +
+                "[1,2]\n" +
+                "{\"itemName\":\"itemB\",\"price\":\"abc\"}\n");
+
+        //when
+        MutablePropertyValues first = rowReader.next();
+
+        //then 잘못된 행은 예외를 던지고 다음 호출은 그 다음 행을 읽는다
+        assertThat(first.get("price")).isEqualTo("10000");
+        assertThat(first.contains("quantity")).isTrue();
+        assertThat(first.get("quantity")).isNull();
+        assertThatThrownBy(rowReader::next).isInstanceOf(JsonProcessingException.class);
+        assertThat(rowReader.getLineNumber()).isEqualTo(2);
+        assertThatThrownBy(rowReader::next).isInstanceOf(JsonProcessingException.class);
+        assertThat(rowReader.getLineNumber()).isEqualTo(3);
+        assertThat(rowReader.next().get("price")).isEqualTo("abc");
+        assertThat(rowReader.getLineNumber()).isEqualTo(4);
+        assertThat(rowReader.next()).isNull();
+    }
+
+    private ItemRowReader reader(String contentType, String body) {
+        return ItemRowReader.create(contentType, new BufferedReader(new StringReader(body)), objectMapper);
+    }
+}